@@ -0,0 +1,181 @@
+/**
+ * AVL tree is a self-balancing Binary Search Tree: heights of the two child subtrees of any node differ by at most one.
+ * If they differ by more, one or two rotations restore the property. Insert, delete and contains take O(log n) time
+ * even for sorted input, which turns a plain Binary Search Tree into a linked list.
+ * <p>
+ * Rotations are done in place: the keys of the rotated nodes are swapped instead of relinking the parent,
+ * so the root node passed by the caller stays the root of the tree.
+ * <p>
+ * Example of right rotation (after inserting 3, 2, 1):
+ *
+ *          3                 2
+ *         /                /   \
+ *        2       =>       1     3
+ *       /
+ *      1
+ */
+class AvlTree extends BinarySearchTree {
+
+    public static void main(String[] args) {
+        AvlTree tree = new AvlTree();
+        Node<Integer> root = new Node<>(1);
+        for (int key = 2; key <= 9; key++) {
+            tree.insert(key, root);
+        }
+
+        System.out.println("\nTraversing in order");
+        tree.traverseInOrder(root);
+        System.out.println("\nTraversing in level order (BFS)");
+        tree.traverseLevelOrder(root);
+        //4 for 9 keys, a plain Binary Search Tree would have height 9
+        System.out.println("\nHeight: " + root.getHeight());
+
+        //true
+        System.out.println("Looking for 9. Found: " + tree.contains(root, 9));
+        //false
+        System.out.println("Looking for 11. Found: " + tree.contains(root, 11));
+
+        root = tree.delete(4, root);
+        System.out.println("\nTraversing in order after deleting 4");
+        tree.traverseInOrder(root);
+    }
+
+    @Override
+    void insert(Integer key, Node<Integer> node) {
+        if (key == null) {
+            System.out.println("It is impossible insert null value");
+            return;
+        }
+        if (key < node.getKey()) {
+            if (node.getLeft() != null) {
+                insert(key, node.getLeft());
+            } else {
+                node.setLeft(new Node<>(key));
+            }
+        } else if (key > node.getKey()) {
+            if (node.getRight() != null) {
+                insert(key, node.getRight());
+            } else {
+                node.setRight(new Node<>(key));
+            }
+        } else {
+            return;
+        }
+        rebalance(node);
+    }
+
+    @Override
+    Node<Integer> delete(int key, Node<Integer> node) {
+        if (node == null) {
+            return null;
+        }
+        if (key == node.getKey()) {
+            // node has at most one child, the child subtree is already balanced
+            if (node.getLeft() == null) {
+                return node.getRight();
+            }
+            if (node.getRight() == null) {
+                return node.getLeft();
+            }
+            //node has 2 children
+            int smallestInRightSubtree = findTheSmallest(node.getRight());
+            node.setKey(smallestInRightSubtree);
+            node.setRight(delete(smallestInRightSubtree, node.getRight()));
+        } else if (key < node.getKey()) {
+            node.setLeft(delete(key, node.getLeft()));
+        } else {
+            node.setRight(delete(key, node.getRight()));
+        }
+        rebalance(node);
+        return node;
+    }
+
+    // the tree height is O(log n), but there is no reason to pay for a call per level
+    @Override
+    Boolean contains(Node<Integer> current, int key) {
+        while (current != null) {
+            int currentKey = current.getKey();
+            if (currentKey == key) {
+                return true;
+            }
+            current = key < currentKey ? current.getLeft() : current.getRight();
+        }
+        return false;
+    }
+
+    private int findTheSmallest(Node<Integer> node) {
+        while (node.getLeft() != null) {
+            node = node.getLeft();
+        }
+        return node.getKey();
+    }
+
+    private void rebalance(Node<Integer> node) {
+        update(node);
+        int balance = balanceFactor(node);
+        if (balance > 1) {
+            // left-right case is reduced to left-left one
+            if (balanceFactor(node.getLeft()) < 0) {
+                rotateLeft(node.getLeft());
+            }
+            rotateRight(node);
+        } else if (balance < -1) {
+            // right-left case is reduced to right-right one
+            if (balanceFactor(node.getRight()) > 0) {
+                rotateRight(node.getRight());
+            }
+            rotateLeft(node);
+        }
+    }
+
+    //        node(a)                node(b)
+    //        /     \                /     \
+    //    left(b)    C     =>       A    left(a)
+    //    /    \                          /   \
+    //   A      B                        B     C
+    private void rotateRight(Node<Integer> node) {
+        Node<Integer> left = node.getLeft();
+        swapKeys(node, left);
+        node.setLeft(left.getLeft());
+        left.setLeft(left.getRight());
+        left.setRight(node.getRight());
+        node.setRight(left);
+        update(left);
+        update(node);
+    }
+
+    //     node(a)                     node(b)
+    //     /     \                     /     \
+    //    A    right(b)     =>    right(a)    C
+    //         /    \              /   \
+    //        B      C            A     B
+    private void rotateLeft(Node<Integer> node) {
+        Node<Integer> right = node.getRight();
+        swapKeys(node, right);
+        node.setRight(right.getRight());
+        right.setRight(right.getLeft());
+        right.setLeft(node.getLeft());
+        node.setLeft(right);
+        update(right);
+        update(node);
+    }
+
+    private void swapKeys(Node<Integer> first, Node<Integer> second) {
+        Integer temp = first.getKey();
+        first.setKey(second.getKey());
+        second.setKey(temp);
+    }
+
+    private void update(Node<Integer> node) {
+        node.setHeight(1 + Math.max(height(node.getLeft()), height(node.getRight())));
+        updateSize(node);
+    }
+
+    private int balanceFactor(Node<Integer> node) {
+        return height(node.getLeft()) - height(node.getRight());
+    }
+
+    private int height(Node<Integer> node) {
+        return node == null ? 0 : node.getHeight();
+    }
+}
@@ -0,0 +1,305 @@
+import java.util.function.IntConsumer;
+
+/**
+ * B+ tree is a balanced search tree where every node holds a sorted block of keys instead of a single key.
+ * Inner nodes keep separators and children, all keys live in leaves, and leaves are chained left to right.
+ * <p>
+ * A node of BinarySearchTree costs one cache miss per level: log2(n) misses per lookup.
+ * A block of 32 ints is two cache lines, so a lookup here costs about log32(n) node visits,
+ * e.g. 5 instead of 26 for 50M keys. Inside a node the key is found by a branchless binary search:
+ * the loop has a fixed number of steps for a given block size and the only condition is a conditional move,
+ * so the CPU doesn't mispredict branches on random keys.
+ * <p>
+ * Range queries find the leaf of the lower bound and then read the chained leaves sequentially.
+ * <p>
+ * Deletion is relaxed: keys are removed from their leaf, but underfull nodes are not merged
+ * (the same trade-off many database B-trees make). Lookups stay correct, the tree just doesn't shrink.
+ * <p>
+ * Example of B+ tree with 3 keys per node:
+ *
+ *                      [ 5      8 ]
+ *                    /      |      \
+ *          [ 2  3  4 ] -> [ 5  7 ] -> [ 8  9 ]
+ */
+class BPlusTree {
+
+    public static void main(String[] args) {
+        BPlusTree tree = new BPlusTree(3);
+        for (int key : new int[]{5, 2, 4, 8, 6, 7, 3, 9}) {
+            tree.insert(key);
+        }
+        System.out.println("Traversing in order");
+        tree.traverseInOrder();
+        System.out.println("\nHeight: " + tree.height());
+        //true
+        System.out.println("Looking for 9. Found: " + tree.contains(9));
+        //false
+        System.out.println("Looking for 11. Found: " + tree.contains(11));
+        //4
+        System.out.println("Keys in [3, 6]: " + tree.countInRange(3, 6));
+
+        tree.delete(4);
+        System.out.println("Traversing in order after deleting 4");
+        tree.traverseInOrder();
+        System.out.println();
+    }
+
+    static final int DEFAULT_NODE_CAPACITY = 32;
+
+    private final int nodeCapacity;
+
+    private BNode root;
+
+    private int size;
+
+    private int height = 1;
+
+    // separator of the last split, passed from a split child to its parent
+    private int splitKey;
+
+    BPlusTree(int nodeCapacity) {
+        if (nodeCapacity < 3) {
+            throw new IllegalArgumentException("Node capacity must be at least 3, but was " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+        root = new Leaf(nodeCapacity);
+    }
+
+    BPlusTree() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int height() {
+        return height;
+    }
+
+    /**
+     * Inserts the key, returns false if it is already in the tree.
+     */
+    boolean insert(int key) {
+        int sizeBefore = size;
+        BNode sibling = insert(root, key);
+        if (sibling != null) {
+            // root was split: the tree grows by one level at the top
+            Inner newRoot = new Inner(nodeCapacity);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = sibling;
+            newRoot.count = 1;
+            root = newRoot;
+            height++;
+        }
+        return size > sizeBefore;
+    }
+
+    /**
+     * Deletes the key, returns false if there was no such key.
+     */
+    boolean delete(int key) {
+        Leaf leaf = findLeaf(key);
+        int index = lowerBound(leaf.keys, leaf.count, key);
+        if (index == leaf.count || leaf.keys[index] != key) {
+            return false;
+        }
+        System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+        leaf.count--;
+        size--;
+        return true;
+    }
+
+    boolean contains(int key) {
+        Leaf leaf = findLeaf(key);
+        int index = lowerBound(leaf.keys, leaf.count, key);
+        return index < leaf.count && leaf.keys[index] == key;
+    }
+
+    /**
+     * Passes keys from [lo, hi] to the action in ascending order.
+     */
+    void rangeScan(int lo, int hi, IntConsumer action) {
+        if (lo > hi) {
+            return;
+        }
+        Leaf leaf = findLeaf(lo);
+        int index = lowerBound(leaf.keys, leaf.count, lo);
+        while (leaf != null) {
+            for (; index < leaf.count; index++) {
+                if (leaf.keys[index] > hi) {
+                    return;
+                }
+                action.accept(leaf.keys[index]);
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+    }
+
+    /**
+     * Returns the number of keys in [lo, hi]. Whole leaves inside the range are counted without reading their keys.
+     */
+    int countInRange(int lo, int hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        Leaf leaf = findLeaf(lo);
+        int from = lowerBound(leaf.keys, leaf.count, lo);
+        int count = 0;
+        while (leaf != null) {
+            if (leaf.count > 0 && leaf.keys[leaf.count - 1] > hi) {
+                return count + upperBound(leaf.keys, leaf.count, hi) - from;
+            }
+            count += leaf.count - from;
+            leaf = leaf.next;
+            from = 0;
+        }
+        return count;
+    }
+
+    void forEachInOrder(IntConsumer action) {
+        rangeScan(Integer.MIN_VALUE, Integer.MAX_VALUE, action);
+    }
+
+    void traverseInOrder() {
+        forEachInOrder(key -> System.out.print(" " + key));
+    }
+
+    private Leaf findLeaf(int key) {
+        BNode node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[upperBound(inner.keys, inner.count, key)];
+        }
+        return (Leaf) node;
+    }
+
+    // returns the new right sibling if the node was split, its first key is stored in splitKey
+    private BNode insert(BNode node, int key) {
+        if (node instanceof Leaf) {
+            return insertIntoLeaf((Leaf) node, key);
+        }
+        Inner inner = (Inner) node;
+        int childIndex = upperBound(inner.keys, inner.count, key);
+        BNode sibling = insert(inner.children[childIndex], key);
+        if (sibling == null) {
+            return null;
+        }
+        // node arrays have one spare slot, so the separator always fits before the split
+        System.arraycopy(inner.keys, childIndex, inner.keys, childIndex + 1, inner.count - childIndex);
+        System.arraycopy(inner.children, childIndex + 1, inner.children, childIndex + 2, inner.count - childIndex);
+        inner.keys[childIndex] = splitKey;
+        inner.children[childIndex + 1] = sibling;
+        inner.count++;
+        if (inner.count <= nodeCapacity) {
+            return null;
+        }
+        // the middle separator moves up, the upper half of the separators goes to the new node
+        int middle = inner.count / 2;
+        Inner right = new Inner(nodeCapacity);
+        right.count = inner.count - middle - 1;
+        System.arraycopy(inner.keys, middle + 1, right.keys, 0, right.count);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, right.count + 1);
+        for (int i = middle + 1; i <= inner.count; i++) {
+            inner.children[i] = null;
+        }
+        splitKey = inner.keys[middle];
+        inner.count = middle;
+        return right;
+    }
+
+    private BNode insertIntoLeaf(Leaf leaf, int key) {
+        int index = lowerBound(leaf.keys, leaf.count, key);
+        if (index < leaf.count && leaf.keys[index] == key) {
+            return null;
+        }
+        System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+        leaf.keys[index] = key;
+        leaf.count++;
+        size++;
+        if (leaf.count <= nodeCapacity) {
+            return null;
+        }
+        int middle = leaf.count / 2;
+        Leaf right = new Leaf(nodeCapacity);
+        right.count = leaf.count - middle;
+        System.arraycopy(leaf.keys, middle, right.keys, 0, right.count);
+        leaf.count = middle;
+        right.next = leaf.next;
+        leaf.next = right;
+        splitKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * Returns the number of keys less than the given key among keys[0, count).
+     * Branchless binary search: the range halves on every step and the comparison only selects
+     * the next base index, which the JIT compiles into a conditional move.
+     */
+    static int lowerBound(int[] keys, int count, int key) {
+        if (count == 0) {
+            return 0;
+        }
+        int base = 0, n = count;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = keys[base + half] < key ? base + half : base;
+            n -= half;
+        }
+        return base + (keys[base] < key ? 1 : 0);
+    }
+
+    /**
+     * Returns the number of keys less than or equal to the given key among keys[0, count).
+     */
+    static int upperBound(int[] keys, int count, int key) {
+        if (count == 0) {
+            return 0;
+        }
+        int base = 0, n = count;
+        while (n > 1) {
+            int half = n >>> 1;
+            base = keys[base + half] <= key ? base + half : base;
+            n -= half;
+        }
+        return base + (keys[base] <= key ? 1 : 0);
+    }
+
+    abstract static class BNode {
+
+        // one spare slot to insert before splitting
+        final int[] keys;
+
+        int count;
+
+        BNode(int nodeCapacity) {
+            keys = new int[nodeCapacity + 1];
+        }
+    }
+
+    // children[i] holds keys in [keys[i - 1], keys[i])
+    static class Inner extends BNode {
+
+        final BNode[] children;
+
+        Inner(int nodeCapacity) {
+            super(nodeCapacity);
+            children = new BNode[nodeCapacity + 2];
+        }
+    }
+
+    static class Leaf extends BNode {
+
+        Leaf next;
+
+        Leaf(int nodeCapacity) {
+            super(nodeCapacity);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Random lookups in BPlusTree of different node sizes against the binary trees.
+ * Once the tree is much bigger than the CPU caches the time per lookup is dominated by cache misses,
+ * so nanoseconds per lookup show how many misses every structure pays per level.
+ * <p>
+ * Run: java -Xmx4g BPlusTreeBenchmark [keys]
+ */
+class BPlusTreeBenchmark {
+
+    private static final int RUNS = 5;
+
+    private static final int LOOKUPS = 2_000_000;
+
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int[] random = BinarySearchTreeBenchmark.randomKeys(keys);
+        int[] lookups = new int[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = random[(int) ((i * 2654435761L) % keys)];
+        }
+        System.out.println(LOOKUPS + " random lookups in " + keys + " keys");
+
+        measureAvlTree(random, lookups);
+
+        IntBinarySearchTree intTree = new IntBinarySearchTree(keys);
+        for (int key : random) {
+            intTree.insert(key);
+        }
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int key : lookups) {
+                if (intTree.contains(key)) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            check(found);
+        }
+        report("IntBinarySearchTree", best);
+        intTree = null;
+
+        for (int nodeCapacity : new int[]{8, 16, 32, 64, 128}) {
+            BPlusTree tree = new BPlusTree(nodeCapacity);
+            for (int key : random) {
+                tree.insert(key);
+            }
+            best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                int found = 0;
+                for (int key : lookups) {
+                    if (tree.contains(key)) {
+                        found++;
+                    }
+                }
+                best = Math.min(best, System.nanoTime() - start);
+                check(found);
+            }
+            report("BPlusTree(" + nodeCapacity + "), height " + tree.height(), best);
+        }
+    }
+
+    private static void measureAvlTree(int[] keys, int[] lookups) {
+        AvlTree tree = new AvlTree();
+        Node<Integer> root = tree.bulkLoad(BinarySearchTreeBenchmark.sortedKeys(keys.length));
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (int key : lookups) {
+                if (tree.contains(root, key)) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            check(found);
+        }
+        report("AvlTree, height " + root.getHeight(), best);
+    }
+
+    // every looked up key is in the tree, the check also keeps the JIT from dropping the loop
+    private static void check(int found) {
+        if (found != LOOKUPS) {
+            throw new IllegalStateException("Found " + found + " of " + LOOKUPS + " keys");
+        }
+    }
+
+    private static void report(String name, long nanos) {
+        System.out.printf("%-28s %6.1f ns per lookup%n", name, (double) nanos / LOOKUPS);
+    }
+}
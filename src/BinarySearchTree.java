@@ -1,5 +1,8 @@
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
 
 /**
  * Binary Search Tree is a node-based binary tree data structure which has the following properties:
@@ -22,6 +25,15 @@ import java.util.Queue;
  *         /      \
  *       3         7
  *
+ * Every node knows the size of its subtree, which lets rank(), select(), floor(), ceiling() and countInRange()
+ * walk a single root-to-leaf path instead of the whole tree: O(height).
+ * <p>
+ * A perfectly balanced tree can be built from sorted keys in O(n) with bulkLoad(), and two trees can be merged
+ * through their in-order sequences in O(n + m); both results are valid AVL trees as well.
+ * <p>
+ * All traversals are iterative: a TreeIterator keeps an explicit stack of O(height) nodes (for BFS a queue
+ * of O(width) nodes, up to n / 2 on the last level), so deep trees don't overflow the call stack
+ * and a reused iterator scans the tree without allocation.
  */
 class BinarySearchTree {
 
@@ -45,6 +57,32 @@ class BinarySearchTree {
         System.out.println("\nTraversing in level order (BFS)");
         tree.traverseLevelOrder(root);
 
+        TreeIterator iterator = tree.iterator(root, Order.IN_ORDER);
+        int sum = 0;
+        while (iterator.hasNext()) {
+            sum += iterator.nextInt();
+        }
+        //44
+        System.out.println("\nSum of keys: " + sum);
+
+        //2 (keys 2 and 3)
+        System.out.println("Rank of 4: " + tree.rank(root, 4));
+        //5
+        System.out.println("Key with rank 3: " + tree.select(root, 3));
+        //5 and 2
+        System.out.println("Floor of 5: " + tree.floor(root, 5) + ", ceiling of 1: " + tree.ceiling(root, 1));
+        //4
+        System.out.println("Keys in [3, 6]: " + tree.countInRange(root, 3, 6));
+        System.out.println("Range scan of [3, 6]:");
+        tree.rangeScan(root, 3, 6, key -> System.out.print(" " + key));
+        System.out.println();
+
+        Node<Integer> loaded = tree.bulkLoad(new int[]{1, 10, 11, 12});
+        Node<Integer> merged = tree.merge(root, loaded);
+        System.out.println("Traversing in level order after merging with 1, 10, 11, 12");
+        tree.traverseLevelOrder(merged);
+        System.out.println();
+
         //true
         System.out.println("\nLooking for 9. Found: " + tree.contains(root, 9));
         //false
@@ -75,6 +113,7 @@ class BinarySearchTree {
                 System.out.println(key + " inserted in the right of " + node.getKey());
             }
         }
+        updateSize(node);
     }
 
     Node<Integer> delete(int key, Node<Integer> node) {
@@ -97,14 +136,16 @@ class BinarySearchTree {
             int smallestInRightSubtree = findTheSmallest(node.getRight());
             node.setKey(smallestInRightSubtree);
             node.setRight(delete(smallestInRightSubtree, node.getRight()));
+            updateSize(node);
             return node;
 
         }
         if (key < node.getKey()) {
             node.setLeft(delete(key, node.getLeft()));
-            return node;
+        } else {
+            node.setRight(delete(key, node.getRight()));
         }
-        node.setRight(delete(key, node.getRight()));
+        updateSize(node);
         return node;
     }
 
@@ -112,44 +153,240 @@ class BinarySearchTree {
         return node.getLeft() == null ? node.getKey() : findTheSmallest(node.getLeft());
     }
 
+    /**
+     * Builds a perfectly balanced tree from strictly increasing keys in O(n), returns its root.
+     * The middle key becomes the root, the halves become its subtrees.
+     */
+    Node<Integer> bulkLoad(int[] sortedKeys) {
+        for (int i = 1; i < sortedKeys.length; i++) {
+            if (sortedKeys[i - 1] >= sortedKeys[i]) {
+                throw new IllegalArgumentException("Keys must be strictly increasing, but " + sortedKeys[i - 1] + " is followed by " + sortedKeys[i]);
+            }
+        }
+        return build(sortedKeys, 0, sortedKeys.length - 1);
+    }
+
+    Node<Integer> bulkLoad(IntStream sortedKeys) {
+        return bulkLoad(sortedKeys.toArray());
+    }
+
+    /**
+     * Merges keys of two trees into a new perfectly balanced tree in O(n + m), returns its root.
+     * Both trees are left untouched, keys present in both of them are taken once.
+     */
+    Node<Integer> merge(Node<Integer> first, Node<Integer> second) {
+        int[] firstKeys = toSortedArray(first);
+        int[] secondKeys = toSortedArray(second);
+        int[] merged = new int[firstKeys.length + secondKeys.length];
+        int i = 0, j = 0, count = 0;
+        while (i < firstKeys.length && j < secondKeys.length) {
+            if (firstKeys[i] < secondKeys[j]) {
+                merged[count++] = firstKeys[i++];
+            } else if (firstKeys[i] > secondKeys[j]) {
+                merged[count++] = secondKeys[j++];
+            } else {
+                merged[count++] = firstKeys[i++];
+                j++;
+            }
+        }
+        while (i < firstKeys.length) {
+            merged[count++] = firstKeys[i++];
+        }
+        while (j < secondKeys.length) {
+            merged[count++] = secondKeys[j++];
+        }
+        return build(merged, 0, count - 1);
+    }
+
+    int[] toSortedArray(Node<Integer> root) {
+        int[] keys = new int[size(root)];
+        TreeIterator iterator = iterator(root, Order.IN_ORDER);
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = iterator.nextInt();
+        }
+        return keys;
+    }
+
+    // recursion depth is log(n) as the tree is balanced
+    private Node<Integer> build(int[] sortedKeys, int from, int to) {
+        if (from > to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node<Integer> node = new Node<>(sortedKeys[middle]);
+        node.setLeft(build(sortedKeys, from, middle - 1));
+        node.setRight(build(sortedKeys, middle + 1, to));
+        int leftHeight = node.getLeft() == null ? 0 : node.getLeft().getHeight();
+        int rightHeight = node.getRight() == null ? 0 : node.getRight().getHeight();
+        node.setHeight(1 + Math.max(leftHeight, rightHeight));
+        updateSize(node);
+        return node;
+    }
+
+    /**
+     * Returns the number of keys less than the given key.
+     */
+    int rank(Node<Integer> root, int key) {
+        return countLess(root, key, false);
+    }
+
+    /**
+     * Returns the k-th smallest key, k starts from 0.
+     */
+    int select(Node<Integer> root, int k) {
+        if (k < 0 || k >= size(root)) {
+            throw new IndexOutOfBoundsException("There is no key with rank " + k + ". Tree size is " + size(root));
+        }
+        Node<Integer> current = root;
+        while (true) {
+            int leftSize = size(current.getLeft());
+            if (k < leftSize) {
+                current = current.getLeft();
+            } else if (k > leftSize) {
+                k -= leftSize + 1;
+                current = current.getRight();
+            } else {
+                return current.getKey();
+            }
+        }
+    }
+
+    /**
+     * Returns the greatest key less than or equal to the given key, null if there is no such key.
+     */
+    Integer floor(Node<Integer> root, int key) {
+        Integer floor = null;
+        Node<Integer> current = root;
+        while (current != null) {
+            if (current.getKey() == key) {
+                return key;
+            }
+            if (current.getKey() < key) {
+                floor = current.getKey();
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
+        }
+        return floor;
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key, null if there is no such key.
+     */
+    Integer ceiling(Node<Integer> root, int key) {
+        Integer ceiling = null;
+        Node<Integer> current = root;
+        while (current != null) {
+            if (current.getKey() == key) {
+                return key;
+            }
+            if (current.getKey() > key) {
+                ceiling = current.getKey();
+                current = current.getLeft();
+            } else {
+                current = current.getRight();
+            }
+        }
+        return ceiling;
+    }
+
+    /**
+     * Returns the number of keys in [lo, hi].
+     */
+    int countInRange(Node<Integer> root, int lo, int hi) {
+        if (lo > hi) {
+            return 0;
+        }
+        return countLess(root, hi, true) - countLess(root, lo, false);
+    }
+
+    /**
+     * Passes keys from [lo, hi] to the action in ascending order.
+     * Only subtrees which may contain such keys are visited: O(height + number of matched keys).
+     */
+    void rangeScan(Node<Integer> root, int lo, int hi, IntConsumer action) {
+        Node<Integer>[] stack = TreeIterator.newArray(16);
+        int top = 0;
+        Node<Integer> current = root;
+        while (current != null || top > 0) {
+            while (current != null) {
+                // the whole left subtree is less than lo as well
+                if (current.getKey() < lo) {
+                    current = current.getRight();
+                } else {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = current;
+                    current = current.getLeft();
+                }
+            }
+            if (top == 0) {
+                return;
+            }
+            Node<Integer> node = stack[--top];
+            if (node.getKey() > hi) {
+                return;
+            }
+            action.accept(node.getKey());
+            current = node.getRight();
+        }
+    }
+
+    // number of keys < key, or <= key if inclusive
+    private int countLess(Node<Integer> root, int key, boolean inclusive) {
+        int count = 0;
+        Node<Integer> current = root;
+        while (current != null) {
+            int currentKey = current.getKey();
+            if (currentKey < key || inclusive && currentKey == key) {
+                count += size(current.getLeft()) + 1;
+                current = current.getRight();
+            } else {
+                current = current.getLeft();
+            }
+        }
+        return count;
+    }
+
+    static int size(Node<Integer> node) {
+        return node == null ? 0 : node.getSize();
+    }
+
+    static void updateSize(Node<Integer> node) {
+        node.setSize(1 + size(node.getLeft()) + size(node.getRight()));
+    }
+
     void traverseInOrder(Node<Integer> node) {
-        if (node == null)
-            return;
-        traverseInOrder(node.getLeft());
-        System.out.print(" " + node.getKey());
-        traverseInOrder(node.getRight());
+        forEach(node, Order.IN_ORDER, key -> System.out.print(" " + key));
     }
 
     void traversePreOrder(Node<Integer> node) {
-        if (node == null)
-            return;
-        System.out.print(" " + node.getKey());
-        traversePreOrder(node.getLeft());
-        traversePreOrder(node.getRight());
+        forEach(node, Order.PRE_ORDER, key -> System.out.print(" " + key));
     }
 
     void traversePostOrder(Node<Integer> node) {
-        if (node == null)
-            return;
-        traversePostOrder(node.getLeft());
-        traversePostOrder(node.getRight());
-        System.out.print(" " + node.getKey());
+        forEach(node, Order.POST_ORDER, key -> System.out.print(" " + key));
     }
 
     void traverseLevelOrder(Node<Integer> root) {
-        Queue<Node<Integer>> nodes = new LinkedList<>();
-        nodes.add(root);
-        while (!nodes.isEmpty()) {
-            Node<Integer> current = nodes.remove();
-            System.out.print(current.getKey() + " ");
-            if (current.getLeft() != null) {
-                nodes.add(current.getLeft());
-            }
-            if (current.getRight() != null) {
-                nodes.add(current.getRight());
-            }
-        }
+        forEach(root, Order.LEVEL_ORDER, key -> System.out.print(key + " "));
+    }
+
+    /**
+     * Passes keys of the subtree to the action in the given order.
+     */
+    void forEach(Node<Integer> root, Order order, IntConsumer action) {
+        iterator(root, order).forEachRemaining(action);
+    }
 
+    /**
+     * Returns an iterator over keys of the subtree in the given order.
+     * The iterator can be reset to another root and reused, then it allocates nothing unless the tree got deeper.
+     */
+    TreeIterator iterator(Node<Integer> root, Order order) {
+        return new TreeIterator(order).reset(root);
     }
 
     Boolean contains(Node<Integer> current, int key) {
@@ -163,4 +400,153 @@ class BinarySearchTree {
                 contains(current.getLeft(), key) :
                 contains(current.getRight(), key);
     }
+
+    enum Order {
+        IN_ORDER, PRE_ORDER, POST_ORDER, LEVEL_ORDER
+    }
+
+    static class TreeIterator implements PrimitiveIterator.OfInt {
+
+        private final Order order;
+
+        // stack for depth first orders, ring queue for level order
+        private Node<Integer>[] nodes = newArray(16);
+
+        private int head;
+
+        private int count;
+
+        // next node to descend from, used by in-order and post-order
+        private Node<Integer> current;
+
+        private Node<Integer> lastVisited;
+
+        TreeIterator(Order order) {
+            this.order = order;
+        }
+
+        /**
+         * Starts a new traversal of the given subtree, the buffer of the previous one is reused.
+         */
+        TreeIterator reset(Node<Integer> root) {
+            Arrays.fill(nodes, null);
+            head = 0;
+            count = 0;
+            current = null;
+            lastVisited = null;
+            if (order == Order.IN_ORDER || order == Order.POST_ORDER) {
+                current = root;
+            } else if (root != null) {
+                push(root);
+            }
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != null || count > 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Traversal is finished");
+            }
+            switch (order) {
+                case IN_ORDER:
+                    return nextInOrder();
+                case PRE_ORDER:
+                    return nextPreOrder();
+                case POST_ORDER:
+                    return nextPostOrder();
+                default:
+                    return nextLevelOrder();
+            }
+        }
+
+        private int nextInOrder() {
+            pushLeftPath();
+            Node<Integer> node = pop();
+            current = node.getRight();
+            return node.getKey();
+        }
+
+        private int nextPreOrder() {
+            Node<Integer> node = pop();
+            // right is pushed first to be visited after the whole left subtree
+            if (node.getRight() != null) {
+                push(node.getRight());
+            }
+            if (node.getLeft() != null) {
+                push(node.getLeft());
+            }
+            return node.getKey();
+        }
+
+        private int nextPostOrder() {
+            while (true) {
+                pushLeftPath();
+                Node<Integer> peek = nodes[count - 1];
+                // go to the right subtree only if it hasn't been visited yet
+                if (peek.getRight() != null && peek.getRight() != lastVisited) {
+                    current = peek.getRight();
+                } else {
+                    lastVisited = pop();
+                    return peek.getKey();
+                }
+            }
+        }
+
+        private int nextLevelOrder() {
+            Node<Integer> node = nodes[head];
+            nodes[head] = null;
+            head = (head + 1) % nodes.length;
+            count--;
+            if (node.getLeft() != null) {
+                enqueue(node.getLeft());
+            }
+            if (node.getRight() != null) {
+                enqueue(node.getRight());
+            }
+            return node.getKey();
+        }
+
+        private void pushLeftPath() {
+            while (current != null) {
+                push(current);
+                current = current.getLeft();
+            }
+        }
+
+        private void push(Node<Integer> node) {
+            if (count == nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            nodes[count++] = node;
+        }
+
+        private Node<Integer> pop() {
+            Node<Integer> node = nodes[--count];
+            nodes[count] = null;
+            return node;
+        }
+
+        private void enqueue(Node<Integer> node) {
+            if (count == nodes.length) {
+                // unroll the ring so that the queue starts from 0 in the bigger array
+                Node<Integer>[] bigger = newArray(nodes.length * 2);
+                for (int i = 0; i < count; i++) {
+                    bigger[i] = nodes[(head + i) % nodes.length];
+                }
+                nodes = bigger;
+                head = 0;
+            }
+            nodes[(head + count++) % nodes.length] = node;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Node<Integer>[] newArray(int length) {
+            return (Node<Integer>[]) new Node[length];
+        }
+    }
 }
@@ -0,0 +1,255 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Rough wall-clock comparison of the Binary Search Tree implementations.
+ * Every measurement is repeated a few times and the best run is printed, so the JIT has a chance to warm up.
+ * <p>
+ * Run: java BinarySearchTreeBenchmark [keys] [order statistic keys]
+ */
+class BinarySearchTreeBenchmark {
+
+    private static final int RUNS = 5;
+
+    private static final PrintStream CONSOLE = System.out;
+
+    // plain Binary Search Tree reports every insert, which would be measured instead of the tree itself
+    private static final PrintStream SILENT = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+    });
+
+    public static void main(String[] args) {
+        int keys = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int[] sorted = sortedKeys(keys);
+        int[] random = randomKeys(keys);
+
+        CONSOLE.println("Insert " + keys + " keys");
+        measureInsert("BinarySearchTree, random keys", new BinarySearchTree(), random);
+        measureInsert("AvlTree,          random keys", new AvlTree(), random);
+        measureInsert("BinarySearchTree, sorted keys", new BinarySearchTree(), sorted);
+        measureInsert("AvlTree,          sorted keys", new AvlTree(), sorted);
+
+        CONSOLE.println("\nMemory and lookups of " + keys + " random keys");
+        measureBoxedTree(random);
+        measureIntTree(random);
+
+        int orderStatisticKeys = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        CONSOLE.println("\nRange queries over " + orderStatisticKeys + " keys");
+        measureRangeQueries(randomKeys(orderStatisticKeys));
+
+        CONSOLE.println("\nBuilding a tree of " + orderStatisticKeys + " sorted keys");
+        measureBulkLoad(sortedKeys(orderStatisticKeys));
+    }
+
+    private static void measureBulkLoad(int[] keys) {
+        AvlTree tree = new AvlTree();
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            Node<Integer> root = new Node<>(keys[0]);
+            for (int i = 1; i < keys.length; i++) {
+                tree.insert(keys[i], root);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("AvlTree, insert per key", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            tree.bulkLoad(keys);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("bulkLoad", best);
+
+        // even and odd keys, so that the merge interleaves the trees completely
+        Node<Integer> evens = tree.bulkLoad(IntStream.range(0, keys.length / 2).map(i -> 2 * i));
+        Node<Integer> odds = tree.bulkLoad(IntStream.range(0, keys.length / 2).map(i -> 2 * i + 1));
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            Node<Integer> root = tree.bulkLoad(tree.toSortedArray(evens));
+            tree.forEach(odds, BinarySearchTree.Order.IN_ORDER, key -> tree.insert(key, root));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("merge by inserting every key of the second tree", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            tree.merge(evens, odds);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("merge", best);
+    }
+
+    private static void measureRangeQueries(int[] keys) {
+        AvlTree tree = new AvlTree();
+        Node<Integer> root = new Node<>(keys[0]);
+        for (int i = 1; i < keys.length; i++) {
+            tree.insert(keys[i], root);
+        }
+        int queries = 100;
+        Random random = new Random(7);
+        int[] lo = new int[queries];
+        int[] hi = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            lo[i] = random.nextInt(keys.length);
+            hi[i] = lo[i] + random.nextInt(keys.length - lo[i]);
+        }
+
+        long start = System.nanoTime();
+        long total = 0;
+        for (int i = 0; i < queries; i++) {
+            int[] count = {0};
+            int from = lo[i], to = hi[i];
+            tree.forEach(root, BinarySearchTree.Order.IN_ORDER, key -> {
+                if (key >= from && key <= to) {
+                    count[0]++;
+                }
+            });
+            total += count[0];
+        }
+        report(queries + " x full traversal count (" + total + " keys)", System.nanoTime() - start);
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            start = System.nanoTime();
+            total = 0;
+            for (int i = 0; i < queries; i++) {
+                total += tree.countInRange(root, lo[i], hi[i]);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report(queries + " x countInRange (" + total + " keys)", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            start = System.nanoTime();
+            total = 0;
+            for (int i = 0; i < queries; i++) {
+                total += tree.select(root, lo[i]);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report(queries + " x select", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long[] sum = {0};
+            start = System.nanoTime();
+            for (int i = 0; i < queries; i++) {
+                tree.rangeScan(root, lo[i], lo[i] + 100, key -> sum[0] += key);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report(queries + " x rangeScan of 100 keys", best);
+    }
+
+    private static void measureBoxedTree(int[] keys) {
+        BinarySearchTree tree = new BinarySearchTree();
+        long before = usedMemory();
+        Node<Integer> root = new Node<>(keys[0]);
+        System.setOut(SILENT);
+        for (int i = 1; i < keys.length; i++) {
+            tree.insert(keys[i], root);
+        }
+        System.setOut(CONSOLE);
+        CONSOLE.printf("Node<Integer> tree: %,d bytes%n", usedMemory() - before);
+
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int key : keys) {
+                if (tree.contains(root, key)) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("Node<Integer> tree, contains (found " + found / RUNS + ")", best);
+    }
+
+    private static void measureIntTree(int[] keys) {
+        long before = usedMemory();
+        IntBinarySearchTree tree = new IntBinarySearchTree(keys.length);
+        for (int key : keys) {
+            tree.insert(key);
+        }
+        CONSOLE.printf("IntBinarySearchTree: %,d bytes%n", usedMemory() - before);
+
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (int key : keys) {
+                if (tree.contains(key)) {
+                    found++;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("IntBinarySearchTree, contains (found " + found / RUNS + ")", best);
+    }
+
+    // approximate, but stable enough to compare structures of the same key count
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void measureInsert(String name, BinarySearchTree tree, int[] keys) {
+        long best = Long.MAX_VALUE;
+        System.setOut(SILENT);
+        try {
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                Node<Integer> root = new Node<>(keys[0]);
+                for (int i = 1; i < keys.length; i++) {
+                    tree.insert(keys[i], root);
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        } catch (StackOverflowError e) {
+            System.setOut(CONSOLE);
+            CONSOLE.println(name + ": StackOverflowError");
+            return;
+        } finally {
+            System.setOut(CONSOLE);
+        }
+        report(name, best);
+    }
+
+    static void report(String name, long nanos) {
+        CONSOLE.printf("%s: %,d us%n", name, nanos / 1000);
+    }
+
+    static int[] sortedKeys(int count) {
+        int[] keys = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = i;
+        }
+        return keys;
+    }
+
+    // shuffled 0..count-1, so both workloads hold exactly the same key set
+    static int[] randomKeys(int count) {
+        int[] keys = sortedKeys(count);
+        Random random = new Random(42);
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,129 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable Min Binary Heap of objects ordered by a Comparator, the object counterpart of MinBinaryHeap.
+ * insert() and poll() take O(log n), peek() takes O(1), building from an array takes O(n).
+ * <p>
+ * The heap is stored in an array from index 1: children of i are 2i and 2i + 1, parent of i is i / 2.
+ */
+class ComparatorMinBinaryHeap<E> {
+
+    public static void main(String[] args) {
+        ComparatorMinBinaryHeap<String> heap = new ComparatorMinBinaryHeap<>(Comparator.comparing(String::length));
+        for (String word : "A binary heap is a heap data structure that takes the form of a binary tree".split(" ")) {
+            heap.insert(word);
+        }
+        System.out.print("Words from the shortest:");
+        while (!heap.isEmpty()) {
+            System.out.print(" " + heap.poll());
+        }
+        System.out.println();
+
+        ComparatorMinBinaryHeap<Integer> built = ComparatorMinBinaryHeap.fromArray(new Integer[]{6, 2, 14, 1, 99}, Comparator.reverseOrder());
+        //99
+        System.out.println("Max element: " + built.peek());
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final Comparator<? super E> comparator;
+
+    private Object[] heap;
+
+    private int size;
+
+    ComparatorMinBinaryHeap(Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        heap = new Object[DEFAULT_CAPACITY + 1];
+    }
+
+    /**
+     * Builds a heap from the items in O(n) by heapifying non-leaf subtrees bottom-up.
+     */
+    static <E> ComparatorMinBinaryHeap<E> fromArray(E[] items, Comparator<? super E> comparator) {
+        ComparatorMinBinaryHeap<E> minHeap = new ComparatorMinBinaryHeap<>(comparator);
+        minHeap.heap = new Object[Math.max(items.length, DEFAULT_CAPACITY) + 1];
+        for (int i = 0; i < items.length; i++) {
+            if (items[i] == null) {
+                throw new IllegalArgumentException("Inserted item can not be null");
+            }
+            minHeap.heap[i + 1] = items[i];
+        }
+        minHeap.size = items.length;
+        for (int i = minHeap.size / 2; i >= 1; i--) {
+            minHeap.siftDown(i);
+        }
+        return minHeap;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void insert(E item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Inserted item can not be null");
+        }
+        if (size == heap.length - 1) {
+            heap = Arrays.copyOf(heap, heap.length * 2);
+        }
+        heap[++size] = item;
+        siftUp(size);
+    }
+
+    E peek() {
+        if (size <= 0) {
+            throw new NoSuchElementException("Heap is empty. Nothing to peek");
+        }
+        return element(1);
+    }
+
+    /**
+     * Removes and returns the min element.
+     */
+    E poll() {
+        E min = peek();
+        heap[1] = heap[size];
+        heap[size--] = null;
+        if (size > 0) {
+            siftDown(1);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        E item = element(i);
+        while (i > 1 && comparator.compare(item, element(i / 2)) < 0) {
+            heap[i] = heap[i / 2];
+            i /= 2;
+        }
+        heap[i] = item;
+    }
+
+    private void siftDown(int i) {
+        E item = element(i);
+        while (2 * i <= size) {
+            int child = 2 * i;
+            if (child < size && comparator.compare(element(child + 1), element(child)) < 0) {
+                child++;
+            }
+            if (comparator.compare(item, element(child)) <= 0) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = item;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E element(int i) {
+        return (E) heap[i];
+    }
+}
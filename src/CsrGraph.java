@@ -0,0 +1,372 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable graph in the compressed sparse row (CSR) format.
+ * <p>
+ * Graph keeps a hash map from every Vertex to an ArrayList of Vertex objects: a lookup and hashing per visited
+ * edge and several objects per vertex. Here vertex values are mapped to dense int ids 0..n-1 once,
+ * and the adjacency of all vertices is two int arrays:
+ * - targets holds the neighbours of vertex 0, then the neighbours of vertex 1 and so on
+ * - neighbours of vertex v are targets[offsets[v]] .. targets[offsets[v + 1] - 1]
+ * A traversal reads neighbours sequentially from one array and marks visited vertices in a bitset,
+ * an edge costs 4 bytes.
+ * <p>
+ * A weighted graph also has long[] weights parallel to targets, arcs of an unweighted graph weigh 1.
+ * reverse() returns the graph with every arc turned around, i.e. with predecessors instead of successors.
+ * <p>
+ * Example of the graph from Graph (A = 0, B = 1, C = 2, D = 3, E = 4):
+ *
+ *    offsets:  0       3       6     8   9   10
+ *    targets:  1 2 3 | 0 2 4 | 0 1 | 0 | 1
+ */
+class CsrGraph<T> {
+
+    public static void main(String[] args) {
+        Builder<String> builder = new Builder<>();
+        builder.addEdge("Australia", "Belarus");
+        builder.addEdge("Australia", "Canada");
+        builder.addEdge("Australia", "Denmark");
+        builder.addEdge("Belarus", "Canada");
+        builder.addEdge("Belarus", "Ethiopia");
+        CsrGraph<String> travelGraph = builder.build();
+        //5 vertices, 10 arcs
+        System.out.println(travelGraph.vertexCount() + " vertices, " + travelGraph.arcCount() + " arcs");
+        travelGraph.breadthFirstSearchTraversal("Australia");
+        travelGraph.depthFirstSearchTraversal("Australia");
+
+        Graph<String> graph = new Graph<>();
+        Graph.Vertex<String> minsk = new Graph.Vertex<>("Minsk");
+        Graph.Vertex<String> brest = new Graph.Vertex<>("Brest");
+        graph.addVertex(minsk);
+        graph.addVertex(brest);
+        graph.addEdge(minsk, brest);
+        CsrGraph<String> frozen = graph.toCsr();
+        //1
+        System.out.println("\nDistance from Minsk to Brest after freezing Graph: " + frozen.distances(frozen.id("Minsk"))[frozen.id("Brest")]);
+    }
+
+    // vertex values by id
+    private final Object[] values;
+
+    private final Map<T, Integer> ids;
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    // weights[i] is the weight of the arc to targets[i], null if the graph is unweighted
+    private final long[] weights;
+
+    private CsrGraph(Object[] values, Map<T, Integer> ids, int[] offsets, int[] targets, long[] weights) {
+        this.values = values;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    int vertexCount() {
+        return values.length;
+    }
+
+    /**
+     * Returns the number of arcs: every undirected edge is two arcs, one per direction.
+     */
+    int arcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Returns the id of the vertex with the value, -1 if there is no such vertex.
+     */
+    int id(T value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    @SuppressWarnings("unchecked")
+    T value(int id) {
+        return (T) values[id];
+    }
+
+    int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Returns the offsets array, neighbours of v are targets()[offsets[v]] .. targets()[offsets[v + 1] - 1].
+     * The array is shared, not copied, and must not be modified.
+     */
+    int[] offsets() {
+        return offsets;
+    }
+
+    /**
+     * Returns the targets array. The array is shared, not copied, and must not be modified.
+     */
+    int[] targets() {
+        return targets;
+    }
+
+    boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Returns the weight of the arc with the index in targets(), 1 if the graph is unweighted.
+     */
+    long weight(int arc) {
+        return weights == null ? 1 : weights[arc];
+    }
+
+    /**
+     * Returns a graph with the same vertex ids and every arc from u to v replaced by an arc from v to u.
+     * The reverse of an undirected graph is the same graph.
+     */
+    CsrGraph<T> reverse() {
+        int n = values.length;
+        int[] reverseOffsets = new int[n + 1];
+        for (int target : targets) {
+            reverseOffsets[target + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] reverseTargets = new int[targets.length];
+        long[] reverseWeights = weights == null ? null : new long[weights.length];
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int i = offsets[v], end = offsets[v + 1]; i < end; i++) {
+                int at = next[targets[i]]++;
+                reverseTargets[at] = v;
+                if (weights != null) {
+                    reverseWeights[at] = weights[i];
+                }
+            }
+        }
+        return new CsrGraph<>(values, ids, reverseOffsets, reverseTargets, reverseWeights);
+    }
+
+    void forEachNeighbour(int id, IntConsumer action) {
+        for (int i = offsets[id], end = offsets[id + 1]; i < end; i++) {
+            action.accept(targets[i]);
+        }
+    }
+
+    /**
+     * Returns ids of vertices reachable from the source in breadth first order.
+     */
+    int[] breadthFirstOrder(int source) {
+        checkId(source);
+        long[] visited = new long[(values.length + 63) >>> 6];
+        // the order array is the queue: vertices are appended at tail and taken at head
+        int[] order = new int[values.length];
+        int head = 0, tail = 0;
+        order[tail++] = source;
+        visited[source >>> 6] |= 1L << source;
+        while (head < tail) {
+            int vertex = order[head++];
+            for (int i = offsets[vertex], end = offsets[vertex + 1]; i < end; i++) {
+                int target = targets[i];
+                long bit = 1L << target;
+                if ((visited[target >>> 6] & bit) == 0) {
+                    visited[target >>> 6] |= bit;
+                    order[tail++] = target;
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+
+    /**
+     * Returns ids of vertices reachable from the source in the depth first order of Graph:
+     * a vertex is marked when it is pushed, neighbours are taken from the stack in reverse order.
+     */
+    int[] depthFirstOrder(int source) {
+        checkId(source);
+        long[] visited = new long[(values.length + 63) >>> 6];
+        int[] order = new int[values.length];
+        // every vertex is pushed at most once
+        int[] stack = new int[values.length];
+        int count = 0, top = 0;
+        stack[top++] = source;
+        visited[source >>> 6] |= 1L << source;
+        while (top > 0) {
+            int vertex = stack[--top];
+            order[count++] = vertex;
+            for (int i = offsets[vertex], end = offsets[vertex + 1]; i < end; i++) {
+                int target = targets[i];
+                long bit = 1L << target;
+                if ((visited[target >>> 6] & bit) == 0) {
+                    visited[target >>> 6] |= bit;
+                    stack[top++] = target;
+                }
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    /**
+     * Returns the number of edges on the shortest path from the source to every vertex, -1 for unreachable ones.
+     */
+    int[] distances(int source) {
+        checkId(source);
+        int[] distances = new int[values.length];
+        Arrays.fill(distances, -1);
+        int[] queue = new int[values.length];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        distances[source] = 0;
+        while (head < tail) {
+            int vertex = queue[head++];
+            for (int i = offsets[vertex], end = offsets[vertex + 1]; i < end; i++) {
+                int target = targets[i];
+                if (distances[target] < 0) {
+                    distances[target] = distances[vertex] + 1;
+                    queue[tail++] = target;
+                }
+            }
+        }
+        return distances;
+    }
+
+    void breadthFirstSearchTraversal(T beginning) {
+        System.out.println("\n===============================");
+        System.out.println("Breadth First Search Traversal:");
+        for (int id : breadthFirstOrder(id(beginning))) {
+            System.out.print(values[id] + " ");
+        }
+    }
+
+    void depthFirstSearchTraversal(T beginning) {
+        System.out.println("\n===============================");
+        System.out.println("Depth-First-Search traversal:");
+        for (int id : depthFirstOrder(id(beginning))) {
+            System.out.print(values[id] + " ");
+        }
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= values.length) {
+            throw new IndexOutOfBoundsException("Vertex id " + id + " is out of range [0, " + values.length + ")");
+        }
+    }
+
+    /**
+     * Collects vertices and arcs, build() sorts the arcs by source in O(V + E) time.
+     * Vertices get ids in the order they are added, an arc adds its missing ends.
+     */
+    static class Builder<T> {
+
+        private final List<T> values = new ArrayList<>();
+
+        private final Map<T, Integer> ids = new HashMap<>();
+
+        private int[] sources = new int[16];
+
+        private int[] destinations = new int[16];
+
+        // allocated with the first weighted arc
+        private long[] weights;
+
+        private int arcs;
+
+        /**
+         * Adds the vertex if it is absent, returns its id.
+         */
+        int addVertex(T value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Vertex value can not be null");
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                ids.put(value, id);
+                values.add(value);
+            }
+            return id;
+        }
+
+        /**
+         * Adds an undirected edge, i.e. arcs in both directions, as Graph.addEdge() does.
+         */
+        Builder<T> addEdge(T src, T dest) {
+            addArc(src, dest);
+            return addArc(dest, src);
+        }
+
+        /**
+         * Adds a directed arc from src to dest.
+         */
+        Builder<T> addArc(T src, T dest) {
+            int from = addVertex(src);
+            int to = addVertex(dest);
+            if (arcs == sources.length) {
+                sources = Arrays.copyOf(sources, arcs * 2);
+                destinations = Arrays.copyOf(destinations, arcs * 2);
+                if (weights != null) {
+                    weights = Arrays.copyOf(weights, arcs * 2);
+                }
+            }
+            sources[arcs] = from;
+            destinations[arcs] = to;
+            if (weights != null) {
+                weights[arcs] = 1;
+            }
+            arcs++;
+            return this;
+        }
+
+        /**
+         * Adds an undirected edge with the weight, i.e. arcs in both directions.
+         */
+        Builder<T> addEdge(T src, T dest, long weight) {
+            addArc(src, dest, weight);
+            return addArc(dest, src, weight);
+        }
+
+        /**
+         * Adds a directed arc from src to dest with the weight, arcs added without a weight weigh 1.
+         */
+        Builder<T> addArc(T src, T dest, long weight) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight can not be negative, but was " + weight);
+            }
+            if (weights == null) {
+                weights = new long[sources.length];
+                Arrays.fill(weights, 0, arcs, 1);
+            }
+            addArc(src, dest);
+            weights[arcs - 1] = weight;
+            return this;
+        }
+
+        CsrGraph<T> build() {
+            int n = values.size();
+            // counting sort of arcs by source: count, prefix sums, then place
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < arcs; i++) {
+                offsets[sources[i] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] += offsets[v];
+            }
+            int[] targets = new int[arcs];
+            long[] sortedWeights = weights == null ? null : new long[arcs];
+            int[] next = Arrays.copyOf(offsets, n);
+            for (int i = 0; i < arcs; i++) {
+                int at = next[sources[i]]++;
+                targets[at] = destinations[i];
+                if (weights != null) {
+                    sortedWeights[at] = weights[i];
+                }
+            }
+            return new CsrGraph<>(values.toArray(), new HashMap<>(ids), offsets, targets, sortedWeights);
+        }
+    }
+}
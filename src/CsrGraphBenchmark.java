@@ -0,0 +1,86 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Memory footprint and traversal time of Graph against the CsrGraph frozen from it,
+ * on a random undirected graph with integer vertex values.
+ * <p>
+ * Run: java -Xmx8g CsrGraphBenchmark [vertices] [edges]
+ */
+class CsrGraphBenchmark {
+
+    private static final int RUNS = 5;
+
+    // keeps traversal results alive
+    private static long checksum;
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5 * vertices;
+        System.out.println(vertices + " vertices, " + edges + " random edges");
+
+        long before = BinarySearchTreeBenchmark.usedMemory();
+        Graph<Integer> graph = new Graph<>();
+        List<Graph.Vertex<Integer>> vertexObjects = addVertices(graph, vertices, i -> i);
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(vertexObjects.get(random.nextInt(vertices)), vertexObjects.get(random.nextInt(vertices)));
+        }
+        long graphMemory = BinarySearchTreeBenchmark.usedMemory() - before;
+
+        long start = System.nanoTime();
+        CsrGraph<Integer> csr = graph.toCsr();
+        long freeze = System.nanoTime() - start;
+        long csrMemory = BinarySearchTreeBenchmark.usedMemory() - before - graphMemory;
+        System.out.printf("%-10s memory: %,9d KB%n", "Graph", graphMemory / 1024);
+        System.out.printf("%-10s memory: %,9d KB (frozen in %,d ms)%n", "CsrGraph", csrMemory / 1024, freeze / 1_000_000);
+
+        Graph.Vertex<Integer> source = vertexObjects.get(0);
+        long bfs = Long.MAX_VALUE, dfs = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long[] sum = {0};
+            start = System.nanoTime();
+            graph.breadthFirstSearch(source, vertex -> sum[0] += vertex.getValue());
+            bfs = Math.min(bfs, System.nanoTime() - start);
+            start = System.nanoTime();
+            graph.depthFirstSearch(source, vertex -> sum[0] += vertex.getValue());
+            dfs = Math.min(dfs, System.nanoTime() - start);
+            checksum += sum[0];
+        }
+        report("Graph", bfs, dfs, 2L * edges);
+
+        int sourceId = csr.id(0);
+        bfs = Long.MAX_VALUE;
+        dfs = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            start = System.nanoTime();
+            checksum += csr.breadthFirstOrder(sourceId).length;
+            bfs = Math.min(bfs, System.nanoTime() - start);
+            start = System.nanoTime();
+            checksum += csr.depthFirstOrder(sourceId).length;
+            dfs = Math.min(dfs, System.nanoTime() - start);
+        }
+        report("CsrGraph", bfs, dfs, 2L * edges);
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    /**
+     * Adds count vertices with the given values to the graph and returns them, the i-th vertex has value(i).
+     */
+    static <T> List<Graph.Vertex<T>> addVertices(Graph<T> graph, int count, IntFunction<T> value) {
+        List<Graph.Vertex<T>> vertices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Graph.Vertex<T> vertex = new Graph.Vertex<>(value.apply(i));
+            graph.addVertex(vertex);
+            vertices.add(vertex);
+        }
+        return vertices;
+    }
+
+    private static void report(String name, long bfs, long dfs, long arcs) {
+        System.out.printf("%-10s BFS: %,7d ms, DFS: %,7d ms (%,.0f arcs per second in BFS)%n",
+                name, bfs / 1_000_000, dfs / 1_000_000, arcs * 1e9 / bfs);
+    }
+}
@@ -1,18 +1,41 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Stack is a linear data structure which follows LIFO operations order.
  * push(), pop(), top() all take O(1) time.
  * <p>
- * Array-based implementation.
+ * Array-based implementation. The stack throws when its capacity is reached,
+ * a growable stack doubles its array instead (push() takes amortized O(1) time then).
+ * <p>
+ * Iteration (from the top or from the bottom), pushAll() and popN() read and write the backing array in place.
+ * The stack must not be modified while it is iterated.
+ * <p>
+ * Stacks too deep for the Java heap can keep int records in MappedSpillStack, which spills them to a file.
  */
-class FixedSizeStack<T> {
+class FixedSizeStack<T> implements Iterable<T> {
 
     private T[] items;
     private int size;
     private int capacity;
+    private final boolean growable;
 
     FixedSizeStack(int capacity) {
+        this(capacity, false);
+    }
+
+    private FixedSizeStack(int capacity, boolean growable) {
         items = (T[]) new Object[capacity];
         this.capacity = capacity;
+        this.growable = growable;
+    }
+
+    /**
+     * Creates a stack which grows instead of throwing when it is full.
+     */
+    static <T> FixedSizeStack<T> growable(int initialCapacity) {
+        return new FixedSizeStack<>(Math.max(initialCapacity, 1), true);
     }
 
     boolean isEmpty() {
@@ -20,7 +43,7 @@ class FixedSizeStack<T> {
     }
 
     boolean isFull() {
-        return size == items.length;
+        return !growable && size == items.length;
     }
 
     public int getCapacity() {
@@ -34,6 +57,10 @@ class FixedSizeStack<T> {
         if (isFull()) {
             throw new IllegalArgumentException("You cannot add item. Stack is full. Stack capacity is " + getCapacity());
         }
+        if (size == items.length) {
+            capacity = items.length * 2;
+            items = Arrays.copyOf(items, capacity);
+        }
         items[size++] = item;
     }
 
@@ -44,7 +71,10 @@ class FixedSizeStack<T> {
         if (isEmpty()) {
             throw new IllegalArgumentException("You cannot pop item. Stack is empty.");
         }
-        return items[--size];
+        T item = items[--size];
+        // the stack shouldn't keep popped items from garbage collection
+        items[size] = null;
+        return item;
     }
 
     /**
@@ -54,16 +84,91 @@ class FixedSizeStack<T> {
         return items[size - 1];
     }
 
-     void printFromBottom(){
-         FixedSizeStack<T> temp = new FixedSizeStack<>(getCapacity());
-         while (!isEmpty()) {
-             temp.push(pop());
-         }
-         while (!temp.isEmpty()){
-             System.out.println(temp.top());
-             push(temp.pop());
-         }
-     }
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds items in the stack one by one, the last item ends up on the top.
+     * Nothing is added if all of them don't fit.
+     */
+    void pushAll(T[] items) {
+        if (!growable && size + items.length > this.items.length) {
+            throw new IllegalArgumentException("You cannot add " + items.length + " items. Stack capacity is " + getCapacity() + ", size is " + size);
+        }
+        if (size + items.length > this.items.length) {
+            capacity = Math.max(this.items.length * 2, size + items.length);
+            this.items = Arrays.copyOf(this.items, capacity);
+        }
+        System.arraycopy(items, 0, this.items, size, items.length);
+        size += items.length;
+    }
+
+    /**
+     * Removes up to n items into the array in the order pop() would return them, returns the number of removed items.
+     */
+    int popN(T[] destination, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("N must not be negative, but was " + n);
+        }
+        int count = Math.min(Math.min(n, size), destination.length);
+        for (int i = 0; i < count; i++) {
+            destination[i] = items[--size];
+            items[size] = null;
+        }
+        return count;
+    }
+
+    /**
+     * Iterates from the top to the bottom, i.e. in the order pop() would return the items.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int next = size - 1;
+
+            @Override
+            public boolean hasNext() {
+                return next >= 0;
+            }
+
+            @Override
+            public T next() {
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                return items[next--];
+            }
+        };
+    }
+
+    /**
+     * Iterates from the bottom to the top, i.e. in the order the items were pushed.
+     */
+    Iterator<T> bottomUpIterator() {
+        return new Iterator<T>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public T next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return items[next++];
+            }
+        };
+    }
+
+    void printFromBottom() {
+        for (int i = 0; i < size; i++) {
+            System.out.println(items[i]);
+        }
+    }
 
     public static void main(String[] args) {
         FixedSizeStack<String> stack = new FixedSizeStack<>(6);
@@ -79,5 +184,21 @@ class FixedSizeStack<T> {
         System.out.println("--------------------------");
         System.out.println("Pop(): " + stack.pop());
         System.out.println("Top() after Pop(): " + stack.top());
+
+        FixedSizeStack<Integer> growable = FixedSizeStack.growable(2);
+        for (int i = 1; i <= 5; i++) {
+            growable.push(i);
+        }
+        //8
+        System.out.println("Capacity of growable stack after 5 pushes: " + growable.getCapacity());
+        growable.pushAll(new Integer[]{6, 7, 8, 9});
+        System.out.print("From the top:");
+        for (Integer item : growable) {
+            System.out.print(" " + item);
+        }
+        Integer[] popped = new Integer[3];
+        growable.popN(popped, 3);
+        //[9, 8, 7]
+        System.out.println("\nPopped 3 items: " + Arrays.toString(popped));
     }
 }
@@ -1,5 +1,6 @@
 import java.util.*;
 import java.util.LinkedList;
+import java.util.function.Consumer;
 
 /*
  * A Graph is a non-linear data structure consisting of nodes(vertex) and edges(relationship).
@@ -20,41 +21,289 @@ import java.util.LinkedList;
  *
  * DFS(from 0): A D C B E
  * BFS(from 0): A B C D E
+ *
+ * Adjacent vertices are kept in insertion-ordered hash sets, so adding, removing and checking an edge take O(1)
+ * expected time, and adding an existing edge again changes nothing. Removing a vertex visits only its neighbours:
+ * O(degree) instead of a scan of the whole graph.
+ * A directed graph keeps an edge only in the adjacency set of its source, and also in the set of predecessors
+ * of its destination, which tells where a removed vertex has to be unlinked from.
+ * Edges can have non-negative weights (e.g. road lengths), an edge added without a weight weighs 1.
+ * Shortest paths are searched by ShortestPathEngine on the graph frozen by toCsr().
+ *
+ * connected() answers whether there is a path between two vertices (ignoring directions) from a union-find
+ * index of connected components. The index is built by the first query and kept current by addVertex() and addEdge()
+ * in O(alpha(n)). Union-find can not split a component, so removals keep the index only when they can't split one:
+ * removing a vertex linked to at most one other vertex, an edge after which one of its ends has no edges left
+ * (that end gets a new element), or an arc whose reverse arc is still there. Other removals drop the index and
+ * the next query rebuilds it in O(V + E). The trade-off: a workload which removes well-connected vertices or
+ * edges between queries (e.g. churn of sessions) pays a full rebuild per query, it is cheap only when such
+ * removals are rare compared to queries.
  */
 class Graph<T> {
 
-    private Map<Vertex<T>, List<Vertex<T>>> adjVertices = new HashMap<>();
+    private Map<Vertex<T>, Set<Vertex<T>>> adjVertices = new HashMap<>();
+
+    // predecessors of every vertex, only in a directed graph (in an undirected one they are the adjacent vertices)
+    private Map<Vertex<T>, Set<Vertex<T>>> inVertices = new HashMap<>();
+
+    // weights of the edges added with a weight, by source and destination
+    private Map<Vertex<T>, Map<Vertex<T>, Long>> weights = new HashMap<>();
+
+    private final boolean directed;
+
+    // connectivity index: union-find element of every vertex, null until the first query or after a removal
+    // which could split a component
+    private Map<Vertex<T>, Integer> componentElements;
+
+    private UnionFind components;
+
+    // elements of removed isolated vertices, each of them is still a component in the union-find
+    private int removedSingletons;
+
+    /**
+     * Creates an undirected graph.
+     */
+    Graph() {
+        this(false);
+    }
+
+    Graph(boolean directed) {
+        this.directed = directed;
+    }
+
+    boolean isDirected() {
+        return directed;
+    }
 
     void addVertex(Vertex<T> vertex) {
-        adjVertices.putIfAbsent(vertex, new ArrayList<>());
+        adjVertices.putIfAbsent(vertex, new LinkedHashSet<>());
+        if (directed) {
+            inVertices.putIfAbsent(vertex, new LinkedHashSet<>());
+        }
+        if (components != null) {
+            componentElements.computeIfAbsent(vertex, v -> components.add());
+        }
     }
 
     void removeVertex(Vertex<T> vertex) {
-        adjVertices.values().forEach(e -> e.remove(vertex));
+        Set<Vertex<T>> adjacent = adjVertices.get(vertex);
+        if (adjacent == null) {
+            return;
+        }
+        int linked = components == null ? 0 : linkedVertices(vertex);
+        Set<Vertex<T>> predecessors = directed ? inVertices.get(vertex) : adjacent;
+        for (Vertex<T> predecessor : predecessors) {
+            if (!predecessor.equals(vertex)) {
+                adjVertices.get(predecessor).remove(vertex);
+                removeWeight(predecessor, vertex);
+            }
+        }
+        if (directed) {
+            for (Vertex<T> successor : adjacent) {
+                if (!successor.equals(vertex)) {
+                    inVertices.get(successor).remove(vertex);
+                }
+            }
+        }
         adjVertices.remove(vertex);
+        inVertices.remove(vertex);
+        weights.remove(vertex);
+        if (components != null) {
+            if (linked > 1) {
+                dropComponents();
+            } else {
+                // the rest of the component stays connected, the element of the vertex is left unused
+                componentElements.remove(vertex);
+                removedSingletons += linked == 0 ? 1 : 0;
+                compactComponents();
+            }
+        }
     }
 
     void addEdge(Vertex<T> src, Vertex<T> dest) {
         adjVertices.get(src).add(dest);
-        adjVertices.get(dest).add(src);
+        if (directed) {
+            inVertices.get(dest).add(src);
+        } else {
+            adjVertices.get(dest).add(src);
+        }
+        if (components != null) {
+            components.union(componentElements.get(src), componentElements.get(dest));
+        }
+    }
+
+    boolean hasEdge(Vertex<T> src, Vertex<T> dest) {
+        return adjVertices.getOrDefault(src, Collections.emptySet()).contains(dest);
+    }
+
+    /**
+     * Adds an edge with the weight, adding an existing edge again replaces its weight.
+     */
+    void addEdge(Vertex<T> src, Vertex<T> dest, long weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight can not be negative, but was " + weight);
+        }
+        addEdge(src, dest);
+        weights.computeIfAbsent(src, v -> new HashMap<>()).put(dest, weight);
+        if (!directed) {
+            weights.computeIfAbsent(dest, v -> new HashMap<>()).put(src, weight);
+        }
+    }
+
+    /**
+     * Returns the weight of the edge from src to dest, 1 if it was added without a weight.
+     */
+    long getWeight(Vertex<T> src, Vertex<T> dest) {
+        Map<Vertex<T>, Long> srcWeights = weights.get(src);
+        Long weight = srcWeights == null ? null : srcWeights.get(dest);
+        return weight == null ? 1 : weight;
     }
 
     void removeEdge(Vertex<T> src, Vertex<T> dest) {
-        adjVertices.get(src).removeIf(v -> v != null && v.equals(dest));
-        adjVertices.get(dest).removeIf(v -> v != null && v.equals(src));
+        if (!adjVertices.get(src).remove(dest)) {
+            return;
+        }
+        removeWeight(src, dest);
+        if (directed) {
+            inVertices.get(dest).remove(src);
+        } else {
+            adjVertices.get(dest).remove(src);
+            removeWeight(dest, src);
+        }
+        if (components != null && !src.equals(dest) && !adjVertices.get(dest).contains(src)) {
+            // an end without edges is a component of its own, otherwise the edge may have been a bridge
+            if (linkedVertices(src) == 0) {
+                componentElements.put(src, components.add());
+                compactComponents();
+            } else if (linkedVertices(dest) == 0) {
+                componentElements.put(dest, components.add());
+                compactComponents();
+            } else {
+                dropComponents();
+            }
+        }
+    }
+
+    /**
+     * Returns true if there is a path between the vertices, edges of a directed graph are taken in both directions.
+     * Near O(1) unless a removal since the previous query could have split a component.
+     */
+    boolean connected(Vertex<T> a, Vertex<T> b) {
+        if (!adjVertices.containsKey(a) || !adjVertices.containsKey(b)) {
+            return false;
+        }
+        if (components == null) {
+            buildComponents();
+        }
+        return components.connected(componentElements.get(a), componentElements.get(b));
+    }
+
+    /**
+     * Returns the number of connected components, edges of a directed graph are taken in both directions.
+     */
+    int componentCount() {
+        if (components == null) {
+            buildComponents();
+        }
+        return components.count() - removedSingletons;
+    }
+
+    private void buildComponents() {
+        components = new UnionFind(adjVertices.size());
+        componentElements = new HashMap<>();
+        adjVertices.keySet().forEach(vertex -> componentElements.put(vertex, components.add()));
+        adjVertices.forEach((vertex, adjacent) -> {
+            int element = componentElements.get(vertex);
+            adjacent.forEach(v -> components.union(element, componentElements.get(v)));
+        });
+    }
+
+    private void dropComponents() {
+        components = null;
+        componentElements = null;
+        removedSingletons = 0;
+    }
+
+    // rebuilds the index on the next query if most union-find elements belong to removed vertices
+    private void compactComponents() {
+        if (components.size() > 2 * componentElements.size() + 64) {
+            dropComponents();
+        }
+    }
+
+    // returns the number of other vertices linked to the vertex in either direction, counting only up to 2
+    private int linkedVertices(Vertex<T> vertex) {
+        Vertex<T> first = null;
+        for (Vertex<T> v : adjVertices.get(vertex)) {
+            if (!v.equals(vertex)) {
+                if (first != null && !v.equals(first)) {
+                    return 2;
+                }
+                first = v;
+            }
+        }
+        if (directed) {
+            for (Vertex<T> v : inVertices.get(vertex)) {
+                if (!v.equals(vertex)) {
+                    if (first != null && !v.equals(first)) {
+                        return 2;
+                    }
+                    first = v;
+                }
+            }
+        }
+        return first == null ? 0 : 1;
+    }
+
+    private void removeWeight(Vertex<T> src, Vertex<T> dest) {
+        Map<Vertex<T>, Long> srcWeights = weights.get(src);
+        if (srcWeights != null) {
+            srcWeights.remove(dest);
+        }
+    }
+
+    /**
+     * Freezes the graph into an immutable CsrGraph of the vertex values, adjacent vertices are kept in their order.
+     * The CsrGraph is weighted if any edge has a weight.
+     */
+    CsrGraph<T> toCsr() {
+        CsrGraph.Builder<T> builder = new CsrGraph.Builder<>();
+        adjVertices.keySet().forEach(vertex -> builder.addVertex(vertex.getValue()));
+        boolean weighted = weights.values().stream().anyMatch(e -> !e.isEmpty());
+        adjVertices.forEach((vertex, adjacent) -> adjacent.forEach(v -> {
+            if (weighted) {
+                builder.addArc(vertex.getValue(), v.getValue(), getWeight(vertex, v));
+            } else {
+                builder.addArc(vertex.getValue(), v.getValue());
+            }
+        }));
+        return builder.build();
     }
 
     void breadthFirstSearchTraversal(Vertex<T> beginning) {
         System.out.println("\n===============================");
         System.out.println("Breadth First Search Traversal:");
+        breadthFirstSearch(beginning, vertex -> System.out.print(vertex.getValue() + " "));
+    }
+
+    void depthFirstSearchTraversal(Vertex<T> beginning) {
+        System.out.println("\n===============================");
+        System.out.println("Depth-First-Search traversal:");
+        depthFirstSearch(beginning, vertex -> System.out.print(vertex.getValue() + " "));
+    }
+
+    /**
+     * Passes vertices reachable from the beginning to the action layer by layer.
+     */
+    void breadthFirstSearch(Vertex<T> beginning, Consumer<Vertex<T>> action) {
         Map<Vertex<T>, Boolean> visited = new HashMap<>();
         Queue<Vertex<T>> way = new LinkedList<>();
         way.add(beginning);
         visited.put(beginning, true);
         while (!way.isEmpty()) {
             Vertex<T> vertex = way.remove();
-            System.out.print(vertex.getValue() + " ");
-            List<Vertex<T>> adjVertices = this.adjVertices.getOrDefault(vertex, new ArrayList<>());
+            action.accept(vertex);
+            Set<Vertex<T>> adjVertices = this.adjVertices.getOrDefault(vertex, Collections.emptySet());
             adjVertices.forEach(v -> {
                 if (!visited.containsKey(v)) {
                     way.add(v);
@@ -64,17 +313,18 @@ class Graph<T> {
         }
     }
 
-    void depthFirstSearchTraversal(Vertex<T> beginning) {
-        System.out.println("\n===============================");
-        System.out.println("Depth-First-Search traversal:");
+    /**
+     * Passes vertices reachable from the beginning to the action branch by branch.
+     */
+    void depthFirstSearch(Vertex<T> beginning, Consumer<Vertex<T>> action) {
         Stack<Vertex<T>> way = new Stack<>();
         Map<Vertex<T>, Boolean> visited = new HashMap<>();
         way.push(beginning);
         visited.put(beginning, true);
         while (!way.isEmpty()) {
             Vertex<T> vertex = way.pop();
-            System.out.print(vertex.getValue() + " ");
-            List<Vertex<T>> adjVertices = this.adjVertices.getOrDefault(vertex, new ArrayList<>());
+            action.accept(vertex);
+            Set<Vertex<T>> adjVertices = this.adjVertices.getOrDefault(vertex, Collections.emptySet());
             adjVertices.forEach(v -> {
                 if (!visited.containsKey(v)) {
                     way.push(v);
@@ -127,7 +377,11 @@ class Graph<T> {
         travelGraph.breadthFirstSearchTraversal(countryA);
         travelGraph.depthFirstSearchTraversal(countryA);
 
+        //true
+        System.out.println("\nAustralia and Denmark are connected: " + travelGraph.connected(countryA, countryD));
         travelGraph.removeEdge(countryA, countryD);
+        //false
+        System.out.println("Australia and Denmark are connected after removing the edge: " + travelGraph.connected(countryA, countryD));
         travelGraph.removeVertex(countryD);
         travelGraph.depthFirstSearchTraversal(countryA);
     }
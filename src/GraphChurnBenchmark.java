@@ -0,0 +1,52 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Churn of Graph: a random vertex leaves with all its edges and comes back with new random edges, as sessions do.
+ * Time per churn step should not depend on the size of the graph, only on the degree of the churned vertex.
+ * <p>
+ * Run: java -Xmx4g GraphChurnBenchmark [max vertices] [degree]
+ */
+class GraphChurnBenchmark {
+
+    private static final int RUNS = 5;
+
+    private static final int STEPS = 100_000;
+
+    public static void main(String[] args) {
+        int maxVertices = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int degree = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        System.out.println("Remove a random vertex and add it back with " + degree + " random edges, " + STEPS + " times");
+        for (boolean directed : new boolean[]{false, true}) {
+            for (int vertices = 10_000; vertices <= maxVertices; vertices *= 10) {
+                Random random = new Random(42);
+                Graph<Integer> graph = new Graph<>(directed);
+                List<Graph.Vertex<Integer>> vertexObjects = CsrGraphBenchmark.addVertices(graph, vertices, i -> i);
+                // every vertex starts with about the given degree
+                for (long i = 0; i < (long) vertices * degree / (directed ? 1 : 2); i++) {
+                    graph.addEdge(vertexObjects.get(random.nextInt(vertices)), vertexObjects.get(random.nextInt(vertices)));
+                }
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    long start = System.nanoTime();
+                    for (int step = 0; step < STEPS; step++) {
+                        Graph.Vertex<Integer> vertex = vertexObjects.get(random.nextInt(vertices));
+                        graph.removeVertex(vertex);
+                        graph.addVertex(vertex);
+                        for (int edge = 0; edge < degree; edge++) {
+                            Graph.Vertex<Integer> other = vertexObjects.get(random.nextInt(vertices));
+                            if (edge % 2 == 0) {
+                                graph.addEdge(vertex, other);
+                            } else {
+                                graph.addEdge(other, vertex);
+                            }
+                        }
+                    }
+                    best = Math.min(best, System.nanoTime() - start);
+                }
+                System.out.printf("%-10s %,10d vertices: %,8.0f ns per churn step%n",
+                        directed ? "directed" : "undirected", vertices, (double) best / STEPS);
+            }
+        }
+    }
+}
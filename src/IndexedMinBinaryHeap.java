@@ -0,0 +1,222 @@
+import java.util.NoSuchElementException;
+
+/**
+ * Indexed Min Binary Heap is a priority queue of element ids 0..capacity-1 with long keys.
+ * Besides the heap itself it keeps a position map: position[id] is the heap slot of the id (0 if absent),
+ * so an element can be found, re-prioritized or removed by its id without a linear scan.
+ * <p>
+ * - insert(), poll(), decreaseKey(), increaseKey(), removeById() take O(log n)
+ * - contains(), keyOf(), peek() take O(1)
+ * <p>
+ * It is the queue of Dijkstra's algorithm: when a shorter path to a vertex is found, its key is decreased
+ * in place instead of inserting a duplicate entry.
+ * <p>
+ * Example for ids 0..4 with keys {0: 30, 2: 10, 4: 20}:
+ *
+ *    heap (ids, from 1):  2  4  0
+ *    position (by id):    3  0  1  0  2
+ */
+class IndexedMinBinaryHeap {
+
+    public static void main(String[] args) {
+        IndexedMinBinaryHeap heap = new IndexedMinBinaryHeap(5);
+        heap.insert(0, 30);
+        heap.insert(2, 10);
+        heap.insert(4, 20);
+        heap.insert(1, 40);
+        //2
+        System.out.println("Min id: " + heap.peekId() + ", key: " + heap.peekKey());
+        heap.decreaseKey(1, 5);
+        //1
+        System.out.println("Min id after decreasing key of 1 to 5: " + heap.peekId());
+        heap.removeById(2);
+        heap.increaseKey(1, 50);
+        System.out.print("Polling ids after removing 2 and increasing key of 1 to 50:");
+        while (!heap.isEmpty()) {
+            System.out.print(" " + heap.poll());
+        }
+        System.out.println();
+    }
+
+    // ids in heap order, from index 1
+    private final int[] heap;
+
+    // position[id] is the index of the id in heap, 0 if the id is not in the heap
+    private final int[] position;
+
+    private final long[] keys;
+
+    private int size;
+
+    IndexedMinBinaryHeap(int capacity) {
+        heap = new int[capacity + 1];
+        position = new int[capacity];
+        keys = new long[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int capacity() {
+        return position.length;
+    }
+
+    boolean contains(int id) {
+        checkId(id);
+        return position[id] != 0;
+    }
+
+    long keyOf(int id) {
+        checkContains(id);
+        return keys[id];
+    }
+
+    void insert(int id, long key) {
+        checkId(id);
+        if (position[id] != 0) {
+            throw new IllegalArgumentException("Id " + id + " is already in the heap");
+        }
+        keys[id] = key;
+        heap[++size] = id;
+        position[id] = size;
+        siftUp(size);
+    }
+
+    void decreaseKey(int id, long key) {
+        checkContains(id);
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is greater than the current key " + keys[id] + " of id " + id);
+        }
+        keys[id] = key;
+        siftUp(position[id]);
+    }
+
+    void increaseKey(int id, long key) {
+        checkContains(id);
+        if (key < keys[id]) {
+            throw new IllegalArgumentException("New key " + key + " is less than the current key " + keys[id] + " of id " + id);
+        }
+        keys[id] = key;
+        siftDown(position[id]);
+    }
+
+    /**
+     * Sets the key of the id in either direction, inserts the id if it is absent.
+     */
+    void updateKey(int id, long key) {
+        checkId(id);
+        if (position[id] == 0) {
+            insert(id, key);
+        } else if (key < keys[id]) {
+            decreaseKey(id, key);
+        } else {
+            increaseKey(id, key);
+        }
+    }
+
+    /**
+     * Returns the id with the min key.
+     */
+    int peekId() {
+        checkNotEmpty();
+        return heap[1];
+    }
+
+    long peekKey() {
+        checkNotEmpty();
+        return keys[heap[1]];
+    }
+
+    /**
+     * Removes and returns the id with the min key.
+     */
+    int poll() {
+        int id = peekId();
+        removeAt(1);
+        return id;
+    }
+
+    void removeById(int id) {
+        checkContains(id);
+        removeAt(position[id]);
+    }
+
+    /**
+     * Removes all ids in O(size), so the heap can be reused without allocating a new one.
+     */
+    void clear() {
+        for (int i = 1; i <= size; i++) {
+            position[heap[i]] = 0;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int index) {
+        int removed = heap[index];
+        int last = heap[size--];
+        position[removed] = 0;
+        if (index <= size) {
+            // the last leaf takes the place of the removed id and moves up or down
+            heap[index] = last;
+            position[last] = index;
+            siftUp(index);
+            siftDown(position[last]);
+        }
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (i > 1 && key < keys[heap[i / 2]]) {
+            move(heap[i / 2], i);
+            i /= 2;
+        }
+        move(id, i);
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        long key = keys[id];
+        while (2 * i <= size) {
+            int child = 2 * i;
+            if (child < size && keys[heap[child + 1]] < keys[heap[child]]) {
+                child++;
+            }
+            if (key <= keys[heap[child]]) {
+                break;
+            }
+            move(heap[child], i);
+            i = child;
+        }
+        move(id, i);
+    }
+
+    private void move(int id, int index) {
+        heap[index] = id;
+        position[id] = index;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= position.length) {
+            throw new IndexOutOfBoundsException("Id " + id + " is out of range [0, " + position.length + ")");
+        }
+    }
+
+    private void checkContains(int id) {
+        checkId(id);
+        if (position[id] == 0) {
+            throw new NoSuchElementException("There is no id " + id + " in the heap");
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size <= 0) {
+            throw new NoSuchElementException("Heap is empty. Nothing to peek");
+        }
+    }
+}
@@ -0,0 +1,292 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Binary Search Tree of primitive int keys without a Node object per key.
+ * Node i is described by keys[i], left[i] and right[i]; a child link is an index in these arrays or NIL.
+ * <p>
+ * Compared with BinarySearchTree (Node<Integer> per key) it saves an object header, a boxed Integer
+ * and two references per key, and keeps the keys next to each other in memory.
+ * contains() doesn't allocate anything. Slots of deleted nodes are chained into a free-list
+ * (through the left array) and reused by the next inserts.
+ * <p>
+ * Example of arrays for the tree 5, 2, 8 inserted in this order:
+ *
+ *    index:  0   1   2
+ *    keys:   5   2   8
+ *    left:   1  NIL NIL          5
+ *    right:  2  NIL NIL        /   \
+ *                             2     8
+ */
+class IntBinarySearchTree {
+
+    public static void main(String[] args) {
+        IntBinarySearchTree tree = new IntBinarySearchTree(4);
+        for (int key : new int[]{5, 2, 4, 8, 6, 7, 3, 9}) {
+            tree.insert(key);
+        }
+
+        System.out.println("Traversing in order");
+        tree.traverseInOrder();
+        System.out.println("\nTraversing in pre order");
+        tree.traversePreOrder();
+        System.out.println("\nTraversing in post order");
+        tree.traversePostOrder();
+        System.out.println("\nTraversing in level order (BFS)");
+        tree.traverseLevelOrder();
+
+        //true
+        System.out.println("\nLooking for 9. Found: " + tree.contains(9));
+        //false
+        System.out.println("Looking for 11. Found: " + tree.contains(11));
+
+        tree.delete(4);
+        System.out.println("\nTraversing in order after deleting 4");
+        tree.traverseInOrder();
+        //slot of 4 is reused
+        tree.insert(1);
+        System.out.println("\nTraversing in order after inserting 1");
+        tree.traverseInOrder();
+    }
+
+    static final int NIL = -1;
+
+    private int[] keys;
+
+    private int[] left;
+
+    private int[] right;
+
+    private int root = NIL;
+
+    // head of the chain of deleted slots, the chain is linked through the left array
+    private int free = NIL;
+
+    // slots [0, used) have been handed out at least once
+    private int used;
+
+    private int size;
+
+    IntBinarySearchTree(int initialCapacity) {
+        int capacity = Math.max(initialCapacity, 1);
+        keys = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    IntBinarySearchTree() {
+        this(16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Inserts the key, returns false if it is already in the tree.
+     */
+    boolean insert(int key) {
+        if (root == NIL) {
+            root = allocate(key);
+            return true;
+        }
+        int current = root;
+        while (true) {
+            // allocate() may replace the arrays, so it has to be called before the array is dereferenced
+            if (key < keys[current]) {
+                if (left[current] == NIL) {
+                    int slot = allocate(key);
+                    left[current] = slot;
+                    return true;
+                }
+                current = left[current];
+            } else if (key > keys[current]) {
+                if (right[current] == NIL) {
+                    int slot = allocate(key);
+                    right[current] = slot;
+                    return true;
+                }
+                current = right[current];
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Deletes the key, returns false if there was no such key.
+     */
+    boolean delete(int key) {
+        int parent = NIL, current = root;
+        while (current != NIL && keys[current] != key) {
+            parent = current;
+            current = key < keys[current] ? left[current] : right[current];
+        }
+        if (current == NIL) {
+            return false;
+        }
+        //node has 2 children: take the smallest key of the right subtree and delete its node instead
+        if (left[current] != NIL && right[current] != NIL) {
+            int successorParent = current, successor = right[current];
+            while (left[successor] != NIL) {
+                successorParent = successor;
+                successor = left[successor];
+            }
+            keys[current] = keys[successor];
+            parent = successorParent;
+            current = successor;
+        }
+        // node has at most one child now
+        int child = left[current] != NIL ? left[current] : right[current];
+        if (parent == NIL) {
+            root = child;
+        } else if (left[parent] == current) {
+            left[parent] = child;
+        } else {
+            right[parent] = child;
+        }
+        release(current);
+        return true;
+    }
+
+    boolean contains(int key) {
+        int current = root;
+        while (current != NIL) {
+            if (keys[current] == key) {
+                return true;
+            }
+            current = key < keys[current] ? left[current] : right[current];
+        }
+        return false;
+    }
+
+    void traverseInOrder() {
+        forEachInOrder(key -> System.out.print(" " + key));
+    }
+
+    void traversePreOrder() {
+        forEachPreOrder(key -> System.out.print(" " + key));
+    }
+
+    void traversePostOrder() {
+        forEachPostOrder(key -> System.out.print(" " + key));
+    }
+
+    void traverseLevelOrder() {
+        forEachLevelOrder(key -> System.out.print(key + " "));
+    }
+
+    void forEachInOrder(IntConsumer action) {
+        int[] stack = new int[16];
+        int top = 0;
+        int current = root;
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack = ensureCapacity(stack, top);
+                stack[top++] = current;
+                current = left[current];
+            }
+            current = stack[--top];
+            action.accept(keys[current]);
+            current = right[current];
+        }
+    }
+
+    void forEachPreOrder(IntConsumer action) {
+        if (root == NIL) {
+            return;
+        }
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            int current = stack[--top];
+            action.accept(keys[current]);
+            // right is pushed first to be visited after the whole left subtree
+            stack = ensureCapacity(stack, top + 1);
+            if (right[current] != NIL) {
+                stack[top++] = right[current];
+            }
+            if (left[current] != NIL) {
+                stack[top++] = left[current];
+            }
+        }
+    }
+
+    void forEachPostOrder(IntConsumer action) {
+        int[] stack = new int[16];
+        int top = 0;
+        int current = root, lastVisited = NIL;
+        while (current != NIL || top > 0) {
+            while (current != NIL) {
+                stack = ensureCapacity(stack, top);
+                stack[top++] = current;
+                current = left[current];
+            }
+            int peek = stack[top - 1];
+            // go to the right subtree only if it hasn't been visited yet
+            if (right[peek] != NIL && right[peek] != lastVisited) {
+                current = right[peek];
+            } else {
+                action.accept(keys[peek]);
+                lastVisited = stack[--top];
+            }
+        }
+    }
+
+    void forEachLevelOrder(IntConsumer action) {
+        if (root == NIL) {
+            return;
+        }
+        // every node is enqueued exactly once, so a plain array of size() slots is enough
+        int[] queue = new int[size];
+        int head = 0, tail = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int current = queue[head++];
+            action.accept(keys[current]);
+            if (left[current] != NIL) {
+                queue[tail++] = left[current];
+            }
+            if (right[current] != NIL) {
+                queue[tail++] = right[current];
+            }
+        }
+    }
+
+    private int allocate(int key) {
+        int slot;
+        if (free != NIL) {
+            slot = free;
+            free = left[slot];
+        } else {
+            if (used == keys.length) {
+                int capacity = keys.length * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+            }
+            slot = used++;
+        }
+        keys[slot] = key;
+        left[slot] = NIL;
+        right[slot] = NIL;
+        size++;
+        return slot;
+    }
+
+    private void release(int slot) {
+        left[slot] = free;
+        right[slot] = NIL;
+        free = slot;
+        size--;
+    }
+
+    private static int[] ensureCapacity(int[] stack, int index) {
+        return index < stack.length ? stack : Arrays.copyOf(stack, stack.length * 2);
+    }
+}
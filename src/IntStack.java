@@ -0,0 +1,152 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Stack of primitive ints: the int[] counterpart of FixedSizeStack, without boxing every pushed value.
+ * push(), pop(), top() all take O(1) time.
+ * <p>
+ * The stack throws when its capacity is reached, a growable stack doubles its array instead.
+ * Iteration, pushAll() and popN() read and write the backing array in place.
+ */
+class IntStack {
+
+    public static void main(String[] args) {
+        // evaluation of the postfix expression 2 3 4 * + (i.e. 2 + 3 * 4)
+        IntStack operands = IntStack.growable(4);
+        for (String token : "2 3 4 * +".split(" ")) {
+            switch (token) {
+                case "+":
+                    operands.push(operands.pop() + operands.pop());
+                    break;
+                case "*":
+                    operands.push(operands.pop() * operands.pop());
+                    break;
+                default:
+                    operands.push(Integer.parseInt(token));
+            }
+        }
+        //14
+        System.out.println("2 3 4 * + = " + operands.pop());
+
+        IntStack stack = new IntStack(6);
+        stack.pushAll(new int[]{1, 2, 3, 4, 5});
+        System.out.print("From the bottom:");
+        stack.forEachFromBottom(value -> System.out.print(" " + value));
+        int[] popped = new int[2];
+        stack.popN(popped, 2);
+        //[5, 4]
+        System.out.println("\nPopped 2 values: " + Arrays.toString(popped) + ", top: " + stack.top());
+    }
+
+    private int[] values;
+    private int size;
+    private final boolean growable;
+
+    IntStack(int capacity) {
+        this(capacity, false);
+    }
+
+    private IntStack(int capacity, boolean growable) {
+        values = new int[capacity];
+        this.growable = growable;
+    }
+
+    /**
+     * Creates a stack which grows instead of throwing when it is full.
+     */
+    static IntStack growable(int initialCapacity) {
+        return new IntStack(Math.max(initialCapacity, 1), true);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isFull() {
+        return !growable && size == values.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getCapacity() {
+        return values.length;
+    }
+
+    void push(int value) {
+        if (size == values.length) {
+            ensureCapacity(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    int pop() {
+        if (isEmpty()) {
+            throw new IllegalArgumentException("You cannot pop item. Stack is empty.");
+        }
+        return values[--size];
+    }
+
+    int top() {
+        if (isEmpty()) {
+            throw new IllegalArgumentException("There is no top item. Stack is empty.");
+        }
+        return values[size - 1];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Pushes values one by one, the last value ends up on the top. Nothing is pushed if all of them don't fit.
+     */
+    void pushAll(int[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, this.values, size, values.length);
+        size += values.length;
+    }
+
+    /**
+     * Removes up to n values into the array in the order pop() would return them, returns the number of removed values.
+     */
+    int popN(int[] destination, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("N must not be negative, but was " + n);
+        }
+        int count = Math.min(Math.min(n, size), destination.length);
+        for (int i = 0; i < count; i++) {
+            destination[i] = values[--size];
+        }
+        return count;
+    }
+
+    /**
+     * Passes values to the action in the order they were pushed.
+     */
+    void forEachFromBottom(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Passes values to the action in the order pop() would return them.
+     */
+    void forEachFromTop(IntConsumer action) {
+        for (int i = size - 1; i >= 0; i--) {
+            action.accept(values[i]);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= values.length) {
+            return;
+        }
+        if (!growable) {
+            throw new IllegalArgumentException("You cannot add item. Stack is full. Stack capacity is " + getCapacity());
+        }
+        values = Arrays.copyOf(values, Math.max(values.length * 2, capacity));
+    }
+}
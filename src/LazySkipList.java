@@ -0,0 +1,356 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+
+/**
+ * Lazy skip list is a concurrent ordered set of int keys (Herlihy, Lev, Luchangco, Shavit).
+ * It is the thread-safe counterpart of BinarySearchTree: insert, delete and contains take O(log n) expected time.
+ * <p>
+ * A skip list is a sorted linked list with express lanes: every node is linked on level 0 and,
+ * with probability 1/2, on each next level as well. Search starts on the top level and goes down
+ * when the next key is too big.
+ * <p>
+ * - contains() takes no locks and never retries, it is wait-free.
+ * - insert() and delete() lock only the predecessors of the key (and the removed node itself),
+ *   validate that they are still linked to each other and retry otherwise.
+ * - A node is deleted logically first (marked) and physically unlinked afterwards,
+ *   so readers never see a half-removed node as present.
+ * <p>
+ * Example of skip list:
+ *
+ *   level 2:  head ------------------------> 7 ----------------> tail
+ *   level 1:  head ---------> 3 -----------> 7 ------> 9 ------> tail
+ *   level 0:  head --> 2 --> 3 --> 5 -----> 7 ------> 9 ------> tail
+ */
+class LazySkipList {
+
+    public static void main(String[] args) throws InterruptedException {
+        LazySkipList set = new LazySkipList();
+        for (int key : new int[]{5, 2, 4, 8, 6, 7, 3, 9}) {
+            set.insert(key);
+        }
+        System.out.println("Traversing in order");
+        set.traverseInOrder();
+        //true
+        System.out.println("\nLooking for 9. Found: " + set.contains(9));
+        //false
+        System.out.println("Looking for 11. Found: " + set.contains(11));
+        set.delete(4);
+        System.out.println("\nTraversing in order after deleting 4");
+        set.traverseInOrder();
+
+        stressTest(8, 64, 200_000);
+        System.out.println("\nStress test passed");
+    }
+
+    // 2^24 expected keys per top level node is more than enough for an int set
+    private static final int MAX_LEVEL = 24;
+
+    private final Node head = new Node(Long.MIN_VALUE, MAX_LEVEL - 1);
+
+    private final Node tail = new Node(Long.MAX_VALUE, MAX_LEVEL - 1);
+
+    LazySkipList() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next.set(level, tail);
+        }
+    }
+
+    /**
+     * Inserts the key, returns false if it is already in the set.
+     */
+    boolean insert(int key) {
+        int topLevel = randomLevel();
+        Node[] predecessors = new Node[MAX_LEVEL];
+        Node[] successors = new Node[MAX_LEVEL];
+        while (true) {
+            int foundLevel = find(key, predecessors, successors);
+            if (foundLevel != -1) {
+                Node found = successors[foundLevel];
+                if (!found.marked) {
+                    // the key is being inserted by another thread, it is present once fully linked
+                    while (!found.fullyLinked) {
+                        Thread.yield();
+                    }
+                    return false;
+                }
+                // the key is being deleted, retry when it is unlinked
+                continue;
+            }
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level <= topLevel; level++) {
+                    Node predecessor = predecessors[level];
+                    Node successor = successors[level];
+                    predecessor.lock.lock();
+                    highestLocked = level;
+                    valid = !predecessor.marked && !successor.marked && predecessor.next.get(level) == successor;
+                }
+                if (!valid) {
+                    continue;
+                }
+                Node node = new Node(key, topLevel);
+                for (int level = 0; level <= topLevel; level++) {
+                    node.next.set(level, successors[level]);
+                }
+                for (int level = 0; level <= topLevel; level++) {
+                    predecessors[level].next.set(level, node);
+                }
+                node.fullyLinked = true;
+                return true;
+            } finally {
+                unlock(predecessors, highestLocked);
+            }
+        }
+    }
+
+    /**
+     * Deletes the key, returns false if there was no such key.
+     */
+    boolean delete(int key) {
+        Node victim = null;
+        boolean isMarked = false;
+        int topLevel = -1;
+        Node[] predecessors = new Node[MAX_LEVEL];
+        Node[] successors = new Node[MAX_LEVEL];
+        while (true) {
+            int foundLevel = find(key, predecessors, successors);
+            if (!isMarked && (foundLevel == -1 || !canBeDeleted(successors[foundLevel], foundLevel))) {
+                return false;
+            }
+            if (!isMarked) {
+                victim = successors[foundLevel];
+                topLevel = victim.topLevel;
+                victim.lock.lock();
+                if (victim.marked) {
+                    victim.lock.unlock();
+                    return false;
+                }
+                // linearization point: the key is absent for everybody from now on
+                victim.marked = true;
+                isMarked = true;
+            }
+            int highestLocked = -1;
+            try {
+                boolean valid = true;
+                for (int level = 0; valid && level <= topLevel; level++) {
+                    Node predecessor = predecessors[level];
+                    predecessor.lock.lock();
+                    highestLocked = level;
+                    valid = !predecessor.marked && predecessor.next.get(level) == victim;
+                }
+                if (!valid) {
+                    continue;
+                }
+                for (int level = topLevel; level >= 0; level--) {
+                    predecessors[level].next.set(level, victim.next.get(level));
+                }
+                victim.lock.unlock();
+                return true;
+            } finally {
+                unlock(predecessors, highestLocked);
+            }
+        }
+    }
+
+    boolean contains(int key) {
+        Node predecessor = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node current = predecessor.next.get(level);
+            while (key > current.key) {
+                predecessor = current;
+                current = predecessor.next.get(level);
+            }
+            if (key == current.key) {
+                return current.fullyLinked && !current.marked;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Passes keys to the action in ascending order. The iteration is weakly consistent:
+     * it never blocks writers and sees keys inserted or deleted concurrently either way.
+     */
+    void forEachInOrder(IntConsumer action) {
+        Node current = head.next.get(0);
+        while (current != tail) {
+            if (current.fullyLinked && !current.marked) {
+                action.accept((int) current.key);
+            }
+            current = current.next.get(0);
+        }
+    }
+
+    void traverseInOrder() {
+        forEachInOrder(key -> System.out.print(" " + key));
+    }
+
+    /**
+     * Returns the number of keys, O(n) and only approximate under concurrent updates.
+     */
+    int size() {
+        int[] size = {0};
+        forEachInOrder(key -> size[0]++);
+        return size[0];
+    }
+
+    // returns the highest level where the key is found or -1
+    private int find(long key, Node[] predecessors, Node[] successors) {
+        int foundLevel = -1;
+        Node predecessor = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; level--) {
+            Node current = predecessor.next.get(level);
+            while (key > current.key) {
+                predecessor = current;
+                current = predecessor.next.get(level);
+            }
+            if (foundLevel == -1 && key == current.key) {
+                foundLevel = level;
+            }
+            predecessors[level] = predecessor;
+            successors[level] = current;
+        }
+        return foundLevel;
+    }
+
+    private boolean canBeDeleted(Node candidate, int foundLevel) {
+        return candidate.fullyLinked && candidate.topLevel == foundLevel && !candidate.marked;
+    }
+
+    // the same predecessor may be locked on several levels, the lock is reentrant and released once per level
+    private void unlock(Node[] predecessors, int highestLocked) {
+        for (int level = 0; level <= highestLocked; level++) {
+            predecessors[level].lock.unlock();
+        }
+    }
+
+    private static int randomLevel() {
+        // number of trailing ones of a random int, i.e. level l with probability 1/2^(l+1)
+        int level = Integer.numberOfTrailingZeros(~ThreadLocalRandom.current().nextInt());
+        return Math.min(level, MAX_LEVEL - 1);
+    }
+
+    /**
+     * Checks that the set behaves as a linearizable one under contention. Threads insert and delete random keys
+     * from a small shared range and count their successful operations. For every key an insert can only succeed
+     * when the key is absent and a delete only when it is present, so successful inserts minus successful deletes
+     * must be exactly 1 for present keys and 0 for absent ones.
+     * Every thread also owns a range of keys nobody else touches: its history there is sequential, so each result
+     * of insert(), delete() and contains() must match a plain boolean array of the thread.
+     * In the end the keys of the set, in order, must be exactly the expected ones.
+     */
+    static void stressTest(int threads, int keys, int operationsPerThread) throws InterruptedException {
+        LazySkipList set = new LazySkipList();
+        AtomicInteger[] balance = new AtomicInteger[keys];
+        for (int key = 0; key < keys; key++) {
+            balance[key] = new AtomicInteger();
+        }
+        // owned[t][i] tells whether key keys + t * keys + i of thread t is in the set
+        boolean[][] owned = new boolean[threads][keys];
+        Thread[] workers = new Thread[threads];
+        IllegalStateException[] failure = new IllegalStateException[1];
+        for (int t = 0; t < threads; t++) {
+            boolean[] present = owned[t];
+            int firstOwned = keys + t * keys;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int operation = random.nextInt(3);
+                    if (random.nextBoolean()) {
+                        int index = random.nextInt(keys);
+                        int key = firstOwned + index;
+                        boolean expected;
+                        boolean actual;
+                        if (operation == 0) {
+                            expected = !present[index];
+                            actual = set.insert(key);
+                            present[index] = true;
+                        } else if (operation == 1) {
+                            expected = present[index];
+                            actual = set.delete(key);
+                            present[index] = false;
+                        } else {
+                            expected = present[index];
+                            actual = set.contains(key);
+                        }
+                        if (actual != expected) {
+                            failure[0] = new IllegalStateException("Operation " + operation + " on owned key " + key + " returned " + actual);
+                            return;
+                        }
+                        continue;
+                    }
+                    int key = random.nextInt(keys);
+                    if (operation == 0 && set.insert(key)) {
+                        balance[key].incrementAndGet();
+                    } else if (operation == 1 && set.delete(key)) {
+                        balance[key].decrementAndGet();
+                    } else {
+                        set.contains(key);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+        int expectedSize = 0;
+        for (int key = 0; key < keys; key++) {
+            if (balance[key].get() != 0 && balance[key].get() != 1) {
+                throw new IllegalStateException("Key " + key + ": " + balance[key].get() + " successful inserts minus deletes");
+            }
+            expectedSize += balance[key].get();
+        }
+        for (boolean[] present : owned) {
+            for (boolean isPresent : present) {
+                expectedSize += isPresent ? 1 : 0;
+            }
+        }
+        int[] count = {0};
+        int[] previous = {Integer.MIN_VALUE};
+        set.forEachInOrder(key -> {
+            if (key <= previous[0]) {
+                throw new IllegalStateException("Keys are not sorted: " + previous[0] + ", " + key);
+            }
+            previous[0] = key;
+            boolean expected = key < keys ? balance[key].get() == 1
+                    : key < keys + threads * keys && owned[(key - keys) / keys][(key - keys) % keys];
+            if (!expected) {
+                throw new IllegalStateException("Key " + key + " is in the set, but it was not expected");
+            }
+            count[0]++;
+        });
+        if (count[0] != expectedSize || set.size() != expectedSize) {
+            throw new IllegalStateException("Expected " + expectedSize + " keys, found " + count[0] + ", size() is " + set.size());
+        }
+    }
+
+    static class Node {
+
+        // long, so that the sentinels can be less and greater than every int key
+        private final long key;
+
+        private final AtomicReferenceArray<Node> next;
+
+        private final int topLevel;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private volatile boolean marked;
+
+        private volatile boolean fullyLinked;
+
+        Node(long key, int topLevel) {
+            this.key = key;
+            this.topLevel = topLevel;
+            this.next = new AtomicReferenceArray<>(topLevel + 1);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of LazySkipList against AvlTree behind one global lock, the way a single-threaded tree is shared today.
+ * Threads run a random mix of contains and insert/delete (half and half) over a fixed key range for a fixed time.
+ * <p>
+ * Run: java LazySkipListBenchmark [milliseconds per measurement]
+ */
+class LazySkipListBenchmark {
+
+    private static final int KEYS = 1 << 20;
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    private static final int[] READ_PERCENTS = {100, 90, 50};
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        System.out.println("Operations per second, " + KEYS + " keys");
+        System.out.printf("%-8s %-6s %15s %15s%n", "threads", "reads", "LockedAvlTree", "LazySkipList");
+        for (int readPercent : READ_PERCENTS) {
+            for (int threads : THREADS) {
+                long locked = measure(new LockedAvlTree(), threads, readPercent, millis);
+                long skipList = measure(new SkipListSet(), threads, readPercent, millis);
+                System.out.printf("%-8d %-6s %,15d %,15d%n", threads, readPercent + "%", locked, skipList);
+            }
+        }
+    }
+
+    private static long measure(IntSet set, int threads, int readPercent, long millis) throws InterruptedException {
+        // half of the key range is present, so inserts and deletes succeed about as often as they fail
+        for (int key = 0; key < KEYS; key += 2) {
+            set.insert(key);
+        }
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(threads);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                started.countDown();
+                while (running.get()) {
+                    int key = random.nextInt(KEYS);
+                    int dice = random.nextInt(100);
+                    if (dice < readPercent) {
+                        set.contains(key);
+                    } else if ((dice & 1) == 0) {
+                        set.insert(key);
+                    } else {
+                        set.delete(key);
+                    }
+                    done++;
+                }
+                operations.add(done);
+            });
+            workers[t].start();
+        }
+        started.await();
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000 / millis;
+    }
+
+    interface IntSet {
+
+        void insert(int key);
+
+        void delete(int key);
+
+        boolean contains(int key);
+    }
+
+    static class LockedAvlTree implements IntSet {
+
+        private final AvlTree tree = new AvlTree();
+
+        private Node<Integer> root;
+
+        @Override
+        public synchronized void insert(int key) {
+            if (root == null) {
+                root = new Node<>(key);
+            } else {
+                tree.insert(key, root);
+            }
+        }
+
+        @Override
+        public synchronized void delete(int key) {
+            root = tree.delete(key, root);
+        }
+
+        @Override
+        public synchronized boolean contains(int key) {
+            return tree.contains(root, key);
+        }
+    }
+
+    static class SkipListSet implements IntSet {
+
+        private final LazySkipList list = new LazySkipList();
+
+        @Override
+        public void insert(int key) {
+            list.insert(key);
+        }
+
+        @Override
+        public void delete(int key) {
+            list.delete(key);
+        }
+
+        @Override
+        public boolean contains(int key) {
+            return list.contains(key);
+        }
+    }
+}
@@ -1,3 +1,12 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /** Linked list is a linear collection of data elements, whose order is not given by their physical placement in memory.
  *  Instead, each element points to the next.
  *  Linked list consists of nodes where each node contains a data field and a reference(link) to the next node in the list.
@@ -9,9 +18,24 @@
  *  |  next-|--> |  next-|--> NULL
  *  ---------    ---------
  *
- *  Singly linked list implementation
-**/
-class LinkedList<T> {
+ *  Singly or doubly linked list implementation. The list keeps references to both ends and its size:
+ *  - add(), addFirst(), removeFirst(), size() take O(1) time
+ *  - removeLast() takes O(1) time in a doubly linked list and O(n) in a singly linked one (the previous node is unknown)
+ *  - concat() and prepend() splice a whole list in O(1) time, the spliced list becomes empty
+ *
+ *  The list is Iterable and can be streamed. A linked list can not be split in the middle without walking to it,
+ *  so its spliterator splits off batches of growing size copied into arrays (the way the JDK does for any iterator):
+ *  the batches are processed in parallel while the next ones are being copied.
+ *
+ * Example of doubly linked list:
+ *
+ *  head                     tail
+ *   |                        |
+ *  | Value |    | Value |    | Value |
+ *  |  next-|--> |  next-|--> |  next-|--> NULL
+ *  |  prev |<---|-prev  |<---|-prev  |
+ **/
+class LinkedList<T> implements Iterable<T> {
 
     public static void main(String[] args) {
         LinkedList<String> list = new LinkedList<>();
@@ -23,58 +47,277 @@ class LinkedList<T> {
         list.add("of");
         list.add("Belarus");
         list.print();
-        list.delete("not");
+        // an equal but not the same string is deleted too
+        list.delete(new String("not"));
         System.out.println();
         list.print();
+        //6
+        System.out.println("\nSize: " + list.size());
+
+        LinkedList<String> sentence = new LinkedList<>(true);
+        sentence.add("is");
+        sentence.add("the");
+        LinkedList<String> tail = new LinkedList<>(true);
+        tail.add("capital");
+        tail.add("of");
+        tail.add("Belarus");
+        LinkedList<String> head = new LinkedList<>(true);
+        head.add("Minsk");
+        sentence.concat(tail);
+        sentence.prepend(head);
+        sentence.print();
+        //Belarus
+        System.out.println("\nRemoved last: " + sentence.removeLast() + ", size of the spliced list: " + tail.size());
+
+        //Minsk, capital
+        System.out.println("Words longer than 4 letters: " + sentence.stream().filter(word -> word.length() > 4).collect(Collectors.joining(", ")));
+        LinkedList<Integer> numbers = new LinkedList<>();
+        for (int i = 1; i <= 100_000; i++) {
+            numbers.add(i);
+        }
+        //5000050000
+        System.out.println("Parallel sum of 1..100000: " + numbers.parallelStream().mapToLong(Integer::longValue).sum());
     }
 
     private Node<T> head;
 
+    private Node<T> tail;
+
+    private int size;
+
+    // nodes of a doubly linked list keep a link to the previous node
+    private final boolean doublyLinked;
+
+    /**
+     * Creates a singly linked list.
+     */
+    LinkedList() {
+        this(false);
+    }
+
+    LinkedList(boolean doublyLinked) {
+        this.doublyLinked = doublyLinked;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isDoublyLinked() {
+        return doublyLinked;
+    }
+
+    /**
+     * Appends the data to the end of the list.
+     */
     void add(T data) {
         Node<T> node = new Node<>(data);
-        if (head == null) {
+        if (tail == null) {
             head = node;
         } else {
-            Node<T> last = head;
-            while (last.next != null) {
-                last = last.next;
+            tail.next = node;
+            if (doublyLinked) {
+                node.prev = tail;
             }
-            last.next = node;
         }
+        tail = node;
+        size++;
     }
 
-    void delete(T data) {
+    void addFirst(T data) {
+        Node<T> node = new Node<>(data);
+        node.next = head;
         if (head == null) {
-            return;
+            tail = node;
+        } else if (doublyLinked) {
+            head.prev = node;
         }
-        if (head.data.equals(data)) {
-            head = head.next;
-            return;
+        head = node;
+        size++;
+    }
+
+    T removeFirst() {
+        if (head == null) {
+            throw new NoSuchElementException("List is empty. Nothing to remove");
+        }
+        Node<T> removed = head;
+        unlink(null, removed);
+        return removed.data;
+    }
+
+    T removeLast() {
+        if (tail == null) {
+            throw new NoSuchElementException("List is empty. Nothing to remove");
         }
+        Node<T> removed = tail;
+        unlink(previous(removed), removed);
+        return removed.data;
+    }
+
+    /**
+     * Deletes the first element equal to the data, returns false if there is no such element.
+     */
+    boolean delete(T data) {
         Node<T> previous = null, current = head;
-        while (current != null && current.data != data) {
+        while (current != null && !current.data.equals(data)) {
             previous = current;
             current = current.next;
         }
-        if (current != null) {
-            previous.next = current.next;
+        if (current == null) {
+            return false;
+        }
+        unlink(previous, current);
+        return true;
+    }
+
+    /**
+     * Moves all elements of the other list to the end of this one in O(1) time. The other list becomes empty.
+     */
+    void concat(LinkedList<T> other) {
+        checkSpliceable(other);
+        if (other.head == null) {
+            return;
+        }
+        if (tail == null) {
+            head = other.head;
+        } else {
+            tail.next = other.head;
+            if (doublyLinked) {
+                other.head.prev = tail;
+            }
+        }
+        tail = other.tail;
+        size += other.size;
+        other.clear();
+    }
+
+    /**
+     * Moves all elements of the other list to the beginning of this one in O(1) time. The other list becomes empty.
+     */
+    void prepend(LinkedList<T> other) {
+        checkSpliceable(other);
+        if (other.head == null) {
+            return;
+        }
+        if (head == null) {
+            tail = other.tail;
+        } else {
+            other.tail.next = head;
+            if (doublyLinked) {
+                head.prev = other.tail;
+            }
+        }
+        head = other.head;
+        size += other.size;
+        other.clear();
+    }
+
+    void clear() {
+        head = null;
+        tail = null;
+        size = 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> next = head;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = next.data;
+                next = next.next;
+                return data;
+            }
+        };
+    }
+
+    /**
+     * Returns a spliterator which knows the size of the list and splits it into array batches.
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        for (Node<T> current = head; current != null; current = current.next) {
+            action.accept(current.data);
         }
     }
 
     void print() {
-        Node<T> current = head;
-        while (current != null) {
-            System.out.print(current.data + " ");
-            current = current.next;
+        forEach(data -> System.out.print(data + " "));
+    }
+
+    // removes the node, previous is the node before it or null if it is the head
+    private void unlink(Node<T> previous, Node<T> node) {
+        if (previous == null) {
+            head = node.next;
+        } else {
+            previous.next = node.next;
+        }
+        if (node.next == null) {
+            tail = previous;
+        } else if (doublyLinked) {
+            node.next.prev = previous;
         }
+        node.next = null;
+        node.prev = null;
+        size--;
     }
 
-    class Node<T> {
+    // O(1) in a doubly linked list, a singly linked one is walked from the head
+    private Node<T> previous(Node<T> node) {
+        if (doublyLinked || node == head) {
+            return node.prev;
+        }
+        Node<T> previous = head;
+        while (previous.next != node) {
+            previous = previous.next;
+        }
+        return previous;
+    }
+
+    private void checkSpliceable(LinkedList<T> other) {
+        if (other == this) {
+            throw new IllegalArgumentException("List can not be spliced into itself");
+        }
+        if (other.doublyLinked != doublyLinked) {
+            throw new IllegalArgumentException("Singly and doubly linked lists can not be spliced");
+        }
+    }
+
+    static class Node<T> {
 
         private T data;
 
         private Node<T> next;
 
+        // used only in a doubly linked list
+        private Node<T> prev;
+
         Node(T data) {
             if (data == null) {
                 throw new IllegalArgumentException("Inserted data can not be null");
@@ -0,0 +1,117 @@
+/**
+ * Building and emptying LinkedList against java.util.LinkedList (the names clash, so the JDK one is always
+ * written with its package). Build appends n elements, delete removes them one by one by equal values
+ * in the order they were added, so each delete finds its element at the head.
+ * Sequential and parallel streams filter and map all elements of the list.
+ * <p>
+ * Run: java LinkedListBenchmark [elements]
+ */
+class LinkedListBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Integer[] values = new Integer[elements];
+        Integer[] equalValues = new Integer[elements];
+        for (int i = 0; i < elements; i++) {
+            // large values are not cached, so the deleted values are equal but not the same objects
+            values[i] = 1_000_000 + i;
+            equalValues[i] = Integer.valueOf(1_000_000 + i);
+        }
+        System.out.println("Build and delete " + elements + " elements");
+
+        for (boolean doublyLinked : new boolean[]{false, true}) {
+            long bestBuild = Long.MAX_VALUE, bestDelete = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                LinkedList<Integer> list = new LinkedList<>(doublyLinked);
+                for (Integer value : values) {
+                    list.add(value);
+                }
+                bestBuild = Math.min(bestBuild, System.nanoTime() - start);
+                start = System.nanoTime();
+                for (Integer value : equalValues) {
+                    list.delete(value);
+                }
+                bestDelete = Math.min(bestDelete, System.nanoTime() - start);
+                check(list.isEmpty());
+            }
+            report(doublyLinked ? "LinkedList, doubly linked" : "LinkedList, singly linked", bestBuild, bestDelete);
+        }
+
+        long bestBuild = Long.MAX_VALUE, bestDelete = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            java.util.LinkedList<Integer> list = new java.util.LinkedList<>();
+            for (Integer value : values) {
+                list.add(value);
+            }
+            bestBuild = Math.min(bestBuild, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (Integer value : equalValues) {
+                list.remove(value);
+            }
+            bestDelete = Math.min(bestDelete, System.nanoTime() - start);
+            check(list.isEmpty());
+        }
+        report("java.util.LinkedList", bestBuild, bestDelete);
+
+        long bestSplice = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            LinkedList<Integer> first = new LinkedList<>(), second = new LinkedList<>();
+            for (int i = 0; i < elements / 2; i++) {
+                first.add(values[i]);
+                second.add(values[elements / 2 + i]);
+            }
+            long start = System.nanoTime();
+            first.concat(second);
+            bestSplice = Math.min(bestSplice, System.nanoTime() - start);
+            check(first.size() == elements / 2 * 2);
+        }
+        System.out.printf("%-28s concat of two halves: %,d ns%n", "LinkedList", bestSplice);
+
+        bestSplice = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            java.util.LinkedList<Integer> first = new java.util.LinkedList<>(), second = new java.util.LinkedList<>();
+            for (int i = 0; i < elements / 2; i++) {
+                first.add(values[i]);
+                second.add(values[elements / 2 + i]);
+            }
+            long start = System.nanoTime();
+            first.addAll(second);
+            bestSplice = Math.min(bestSplice, System.nanoTime() - start);
+            check(first.size() == elements / 2 * 2);
+        }
+        System.out.printf("%-28s addAll of two halves: %,d ns%n", "java.util.LinkedList", bestSplice);
+
+        LinkedList<Integer> list = new LinkedList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        System.out.println("\nFilter and map " + elements + " elements on " + Runtime.getRuntime().availableProcessors() + " cores");
+        for (boolean parallel : new boolean[]{false, true}) {
+            long best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                long sum = (parallel ? list.parallelStream() : list.stream())
+                        .filter(value -> (value & 1) == 0)
+                        .mapToLong(value -> Long.hashCode(value * 0x9E3779B97F4A7C15L))
+                        .sum();
+                best = Math.min(best, System.nanoTime() - start);
+                check(sum != 0);
+            }
+            System.out.printf("%-28s %,8d us%n", parallel ? "parallelStream()" : "stream()", best / 1000);
+        }
+    }
+
+    private static void report(String name, long build, long delete) {
+        System.out.printf("%-28s build: %,8d us, delete: %,8d us%n", name, build / 1000, delete / 1000);
+    }
+
+    private static void check(boolean condition) {
+        if (!condition) {
+            throw new IllegalStateException("Unexpected list state");
+        }
+    }
+}
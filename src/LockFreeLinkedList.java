@@ -0,0 +1,269 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lock-free linked list (Harris, Michael) with the add/delete semantics of LinkedList:
+ * add() appends to the end, delete() removes the first equal element.
+ * <p>
+ * The next reference of every node carries a mark bit, and both are changed by a single compare-and-set.
+ * delete() works in two steps:
+ * - logical deletion marks the next reference of the node, from now on nothing can be linked after it
+ *   (a CAS expecting an unmarked reference fails) and every traversal treats it as absent
+ * - physical deletion swings the next reference of the previous node past it
+ * If the second CAS fails because of a concurrent update, the next traversal which meets the marked node unlinks it.
+ * <p>
+ * Nobody ever waits for a lock: readers and iterators never block writers, and a stalled thread can not stop others.
+ * Iterators are weakly consistent: they never throw ConcurrentModificationException, return every element
+ * present during the whole iteration and may or may not return elements added or deleted meanwhile.
+ *
+ *  head --> | a |  | --> | b | x | --> | c |  | --> NULL        b is marked: deleted, not yet unlinked
+ */
+class LockFreeLinkedList<T> implements Iterable<T> {
+
+    public static void main(String[] args) throws InterruptedException {
+        LockFreeLinkedList<String> subscribers = new LockFreeLinkedList<>();
+        subscribers.add("alice");
+        subscribers.add("bob");
+        subscribers.add("carol");
+        subscribers.add("bob");
+        // the first "bob" only
+        subscribers.delete("bob");
+        subscribers.print();
+        //3
+        System.out.println("\nSize: " + subscribers.size() + ", contains bob: " + subscribers.contains("bob"));
+
+        stressTest(8, 64, 200_000);
+        System.out.println("Stress test passed");
+    }
+
+    // sentinel, its data is null
+    private final Node<T> head = new Node<>(null);
+
+    // a node at or near the end of the list, add() starts from it instead of the head
+    private volatile Node<T> tail = head;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Returns the number of elements, exact only when there are no concurrent updates.
+     */
+    int size() {
+        return size.get();
+    }
+
+    boolean isEmpty() {
+        return first() == null;
+    }
+
+    /**
+     * Appends the data to the end of the list.
+     */
+    void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Inserted data can not be null");
+        }
+        Node<T> node = new Node<>(data);
+        Node<T> last = tail;
+        while (true) {
+            // an unmarked node is always linked, so appending after an unmarked last node is safe
+            // wherever the walk started
+            Node<T> next;
+            while ((next = last.next.getReference()) != null) {
+                last = next;
+            }
+            if (last.next.compareAndSet(null, node, false, false)) {
+                tail = node;
+                size.incrementAndGet();
+                return;
+            }
+            if (last.next.isMarked()) {
+                // the last node is being deleted: find the live end from the head, unlinking such nodes
+                last = findLast();
+            }
+        }
+    }
+
+    /**
+     * Deletes the first element equal to the data, returns false if there is no such element.
+     */
+    boolean delete(T data) {
+        boolean[] marked = new boolean[1];
+        retry:
+        while (true) {
+            Node<T> previous = head;
+            Node<T> current = previous.next.getReference();
+            while (current != null) {
+                Node<T> next = current.next.get(marked);
+                if (marked[0]) {
+                    if (!previous.next.compareAndSet(current, next, false, false)) {
+                        continue retry;
+                    }
+                    current = next;
+                    continue;
+                }
+                if (current.data.equals(data)) {
+                    if (!current.next.compareAndSet(next, next, false, true)) {
+                        // something was appended after it or another thread deleted it
+                        continue retry;
+                    }
+                    size.decrementAndGet();
+                    previous.next.compareAndSet(current, next, false, false);
+                    return true;
+                }
+                previous = current;
+                current = next;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if there is an element equal to the data. Lock-free (never helps unlink): marked nodes are skipped.
+     */
+    boolean contains(T data) {
+        for (Node<T> current = first(); current != null; current = nextLive(current)) {
+            if (current.data.equals(data)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a weakly consistent iterator, remove() is not supported.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private Node<T> next = first();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = next.data;
+                next = nextLive(next);
+                return data;
+            }
+        };
+    }
+
+    void print() {
+        forEach(data -> System.out.print(data + " "));
+    }
+
+    private Node<T> first() {
+        return nextLive(head);
+    }
+
+    // returns the first unmarked node after the given one or null
+    private Node<T> nextLive(Node<T> node) {
+        Node<T> current = node.next.getReference();
+        while (current != null && current.next.isMarked()) {
+            current = current.next.getReference();
+        }
+        return current;
+    }
+
+    // walks from the head unlinking marked nodes, returns the last node seen unmarked
+    private Node<T> findLast() {
+        boolean[] marked = new boolean[1];
+        retry:
+        while (true) {
+            Node<T> previous = head;
+            Node<T> current = previous.next.getReference();
+            while (current != null) {
+                Node<T> next = current.next.get(marked);
+                if (marked[0]) {
+                    if (!previous.next.compareAndSet(current, next, false, false)) {
+                        continue retry;
+                    }
+                } else {
+                    previous = current;
+                }
+                current = next;
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Checks the list under contention: threads add and delete random values from a small range and count
+     * their successful operations. Every add succeeds and a delete succeeds only when an equal element is present,
+     * so for every value adds minus successful deletes must be exactly the number of its occurrences in the end.
+     */
+    static void stressTest(int threads, int values, int operationsPerThread) throws InterruptedException {
+        LockFreeLinkedList<Integer> list = new LockFreeLinkedList<>();
+        AtomicInteger[] balance = new AtomicInteger[values];
+        for (int value = 0; value < values; value++) {
+            balance[value] = new AtomicInteger();
+        }
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int value = random.nextInt(values);
+                    // deletes are tried twice as often as adds, so the list stays short
+                    int operation = random.nextInt(4);
+                    if (operation == 0) {
+                        list.add(value);
+                        balance[value].incrementAndGet();
+                    } else if (operation < 3) {
+                        if (list.delete(value)) {
+                            balance[value].decrementAndGet();
+                        }
+                    } else if (i % 64 == 0) {
+                        // iterators run concurrently with the updates
+                        for (Integer ignored : list) {
+                            if (ignored == null) {
+                                throw new IllegalStateException("Iterator returned null");
+                            }
+                        }
+                    } else {
+                        list.contains(value);
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        int[] occurrences = new int[values];
+        int count = 0;
+        for (Integer value : list) {
+            occurrences[value]++;
+            count++;
+        }
+        for (int value = 0; value < values; value++) {
+            if (balance[value].get() != occurrences[value]) {
+                throw new IllegalStateException("Value " + value + ": " + balance[value].get() + " adds minus deletes, " + occurrences[value] + " in the list");
+            }
+        }
+        if (count != list.size()) {
+            throw new IllegalStateException("Size is " + list.size() + ", but " + count + " elements were iterated");
+        }
+    }
+
+    static class Node<T> {
+
+        private final T data;
+
+        // the mark is set when the node is deleted
+        private final AtomicMarkableReference<Node<T>> next = new AtomicMarkableReference<>(null, false);
+
+        Node(T data) {
+            this.data = data;
+        }
+    }
+}
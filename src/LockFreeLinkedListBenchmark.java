@@ -0,0 +1,127 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of LockFreeLinkedList against LinkedList behind one global lock, the way a subscriber list is shared today.
+ * Threads run a random mix of full iterations and add/delete (half and half) of values from a fixed range for a fixed time.
+ * <p>
+ * Run: java LockFreeLinkedListBenchmark [milliseconds per measurement]
+ */
+class LockFreeLinkedListBenchmark {
+
+    private static final int VALUES = 256;
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static final int[] READ_PERCENTS = {100, 90, 50};
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        System.out.println("Operations per second, lists of about " + VALUES / 2 + " elements");
+        System.out.printf("%-8s %-6s %18s %18s%n", "threads", "reads", "LockedLinkedList", "LockFreeLinkedList");
+        for (int readPercent : READ_PERCENTS) {
+            for (int threads : THREADS) {
+                long locked = measure(new LockedLinkedList(), threads, readPercent, millis);
+                long lockFree = measure(new LockFreeList(), threads, readPercent, millis);
+                System.out.printf("%-8d %-6s %,18d %,18d%n", threads, readPercent + "%", locked, lockFree);
+            }
+        }
+    }
+
+    private static long measure(SubscriberList list, int threads, int readPercent, long millis) throws InterruptedException {
+        // every other value is present, so deletes succeed about as often as they fail
+        for (int value = 0; value < VALUES; value += 2) {
+            list.add(value);
+        }
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(threads);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                started.countDown();
+                while (running.get()) {
+                    int value = random.nextInt(VALUES);
+                    int dice = random.nextInt(100);
+                    if (dice < readPercent) {
+                        list.sum();
+                    } else if ((dice & 1) == 0) {
+                        list.add(value);
+                    } else {
+                        list.delete(value);
+                    }
+                    done++;
+                }
+                operations.add(done);
+            });
+            workers[t].start();
+        }
+        started.await();
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000 / millis;
+    }
+
+    interface SubscriberList {
+
+        void add(int value);
+
+        void delete(int value);
+
+        // iterates over all elements, as a dispatch to every subscriber does
+        long sum();
+    }
+
+    static class LockedLinkedList implements SubscriberList {
+
+        private final LinkedList<Integer> list = new LinkedList<>();
+
+        @Override
+        public synchronized void add(int value) {
+            list.add(value);
+        }
+
+        @Override
+        public synchronized void delete(int value) {
+            list.delete(value);
+        }
+
+        @Override
+        public synchronized long sum() {
+            long[] sum = {0};
+            list.forEach(value -> sum[0] += value);
+            return sum[0];
+        }
+    }
+
+    static class LockFreeList implements SubscriberList {
+
+        private final LockFreeLinkedList<Integer> list = new LockFreeLinkedList<>();
+
+        @Override
+        public void add(int value) {
+            list.add(value);
+        }
+
+        @Override
+        public void delete(int value) {
+            list.delete(value);
+        }
+
+        @Override
+        public long sum() {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }
+    }
+}
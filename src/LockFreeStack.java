@@ -0,0 +1,157 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Lock-free stack (Treiber stack) with an elimination backoff array (Hendler, Shavit, Yerushalmi).
+ * <p>
+ * The stack is a linked list, push() and pop() swap its top with a single compare-and-set.
+ * Under contention most of these CASes fail, and every failure is one more round trip to the same cache line.
+ * Then a thread backs off to a random slot of the elimination array instead of retrying right away:
+ * a pusher leaves its item there for a moment, and a popper passing by takes it. Such a pair
+ * cancels out as if the push was immediately followed by the pop, without touching the top at all.
+ * <p>
+ *      top --> [ c ] --> [ b ] --> [ a ] --> null
+ *
+ *      elimination array:  [ null | offer(d) | null | null ]
+ *                                      ^ push(d) waits here, pop() takes d
+ */
+class LockFreeStack<T> {
+
+    public static void main(String[] args) throws InterruptedException {
+        LockFreeStack<String> stack = new LockFreeStack<>();
+        stack.push("a");
+        stack.push("b");
+        stack.push("c");
+        //c
+        System.out.println("Pop(): " + stack.pop());
+        //b
+        System.out.println("Top() after Pop(): " + stack.top());
+
+        // pairs of threads push and pop concurrently, nothing is lost or popped twice
+        LockFreeStack<Integer> shared = new LockFreeStack<>();
+        int threads = 8, items = 100_000;
+        long[] popped = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < items; i++) {
+                    shared.push(i);
+                    Integer item;
+                    while ((item = shared.pop()) == null) {
+                        Thread.yield();
+                    }
+                    popped[thread] += item;
+                }
+            });
+            workers[t].start();
+        }
+        long sum = 0;
+        for (int t = 0; t < threads; t++) {
+            workers[t].join();
+            sum += popped[t];
+        }
+        System.out.println("Sum of popped items is correct: " + (sum == (long) threads * items * (items - 1) / 2));
+    }
+
+    // how many times a pusher checks whether its offer was taken before withdrawing it
+    private static final int ELIMINATION_SPINS = 64;
+
+    private final AtomicReference<Node<T>> top = new AtomicReference<>();
+
+    // a slot holds an offer of a waiting pusher or null
+    private final AtomicReferenceArray<Node<T>> elimination;
+
+    LockFreeStack() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    LockFreeStack(int eliminationSlots) {
+        elimination = new AtomicReferenceArray<>(Math.max(eliminationSlots, 1));
+    }
+
+    boolean isEmpty() {
+        return top.get() == null;
+    }
+
+    /**
+     * Adds an item in the stack.
+     */
+    void push(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Inserted item can not be null");
+        }
+        Node<T> node = new Node<>(item);
+        while (true) {
+            Node<T> current = top.get();
+            node.next = current;
+            if (top.compareAndSet(current, node) || eliminatePush(node)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes last pushed item from the stack, returns null if the stack is empty.
+     */
+    T pop() {
+        while (true) {
+            Node<T> current = top.get();
+            if (current == null) {
+                return null;
+            }
+            if (top.compareAndSet(current, current.next)) {
+                return current.item;
+            }
+            Node<T> offer = eliminatePop();
+            if (offer != null) {
+                return offer.item;
+            }
+        }
+    }
+
+    /**
+     * Returns top item of the stack, null if the stack is empty.
+     */
+    T top() {
+        Node<T> current = top.get();
+        return current == null ? null : current.item;
+    }
+
+    // returns true if a popper took the node
+    private boolean eliminatePush(Node<T> node) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        if (!elimination.compareAndSet(slot, null, node)) {
+            return false;
+        }
+        for (int spin = 0; spin < ELIMINATION_SPINS; spin++) {
+            if (elimination.get(slot) != node) {
+                return true;
+            }
+        }
+        // nobody came: the offer is withdrawn, unless a popper takes it right now
+        return !elimination.compareAndSet(slot, node, null);
+    }
+
+    // returns the node of an eliminated push or null
+    private Node<T> eliminatePop() {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        Node<T> offer = elimination.get(slot);
+        if (offer != null && elimination.compareAndSet(slot, offer, null)) {
+            return offer;
+        }
+        return null;
+    }
+
+    static class Node<T> {
+
+        private final T item;
+
+        private Node<T> next;
+
+        Node(T item) {
+            this.item = item;
+        }
+    }
+}
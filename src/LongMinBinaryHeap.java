@@ -0,0 +1,147 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Growable Min Binary Heap of values with a primitive long priority, e.g. tasks ordered by their deadlines.
+ * Priorities are kept in a long[] next to the values, so comparisons don't unbox or call a Comparator.
+ * insert() and poll() take O(log n), peek() takes O(1), building from arrays takes O(n).
+ * <p>
+ * The heap is stored in arrays from index 1: children of i are 2i and 2i + 1, parent of i is i / 2.
+ */
+class LongMinBinaryHeap<E> {
+
+    public static void main(String[] args) {
+        LongMinBinaryHeap<String> tasks = new LongMinBinaryHeap<>();
+        tasks.insert("send report", 1_700_000_300_000L);
+        tasks.insert("backup", 1_700_000_100_000L);
+        tasks.insert("rotate logs", 1_700_000_200_000L);
+        //backup
+        System.out.println("First task: " + tasks.peek() + " at " + tasks.peekPriority());
+        System.out.print("Tasks by deadline:");
+        while (!tasks.isEmpty()) {
+            System.out.print(" " + tasks.poll() + ";");
+        }
+        System.out.println();
+    }
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] priorities;
+
+    private Object[] values;
+
+    private int size;
+
+    LongMinBinaryHeap() {
+        priorities = new long[DEFAULT_CAPACITY + 1];
+        values = new Object[DEFAULT_CAPACITY + 1];
+    }
+
+    /**
+     * Builds a heap in O(n), values[i] gets priorities[i].
+     */
+    static <E> LongMinBinaryHeap<E> fromArrays(E[] values, long[] priorities) {
+        if (values.length != priorities.length) {
+            throw new IllegalArgumentException("There are " + values.length + " values, but " + priorities.length + " priorities");
+        }
+        LongMinBinaryHeap<E> minHeap = new LongMinBinaryHeap<>();
+        int capacity = Math.max(values.length, DEFAULT_CAPACITY) + 1;
+        minHeap.priorities = new long[capacity];
+        minHeap.values = new Object[capacity];
+        System.arraycopy(priorities, 0, minHeap.priorities, 1, priorities.length);
+        System.arraycopy(values, 0, minHeap.values, 1, values.length);
+        minHeap.size = values.length;
+        for (int i = minHeap.size / 2; i >= 1; i--) {
+            minHeap.siftDown(i);
+        }
+        return minHeap;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void insert(E value, long priority) {
+        if (size == priorities.length - 1) {
+            priorities = Arrays.copyOf(priorities, priorities.length * 2);
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        size++;
+        priorities[size] = priority;
+        values[size] = value;
+        siftUp(size);
+    }
+
+    /**
+     * Returns the value with the min priority.
+     */
+    E peek() {
+        checkNotEmpty();
+        return value(1);
+    }
+
+    long peekPriority() {
+        checkNotEmpty();
+        return priorities[1];
+    }
+
+    /**
+     * Removes and returns the value with the min priority.
+     */
+    E poll() {
+        E min = peek();
+        priorities[1] = priorities[size];
+        values[1] = values[size];
+        values[size--] = null;
+        if (size > 0) {
+            siftDown(1);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        long priority = priorities[i];
+        Object value = values[i];
+        while (i > 1 && priority < priorities[i / 2]) {
+            priorities[i] = priorities[i / 2];
+            values[i] = values[i / 2];
+            i /= 2;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+    }
+
+    private void siftDown(int i) {
+        long priority = priorities[i];
+        Object value = values[i];
+        while (2 * i <= size) {
+            int child = 2 * i;
+            if (child < size && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (priority <= priorities[child]) {
+                break;
+            }
+            priorities[i] = priorities[child];
+            values[i] = values[child];
+            i = child;
+        }
+        priorities[i] = priority;
+        values[i] = value;
+    }
+
+    private void checkNotEmpty() {
+        if (size <= 0) {
+            throw new NoSuchElementException("Heap is empty. Nothing to peek");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private E value(int i) {
+        return (E) values[i];
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Stack of primitive longs: the long[] counterpart of FixedSizeStack, without boxing every pushed value.
+ * push(), pop(), top() all take O(1) time.
+ * <p>
+ * The stack throws when its capacity is reached, a growable stack doubles its array instead.
+ * Iteration, pushAll() and popN() read and write the backing array in place.
+ */
+class LongStack {
+
+    public static void main(String[] args) {
+        // depth first search over implicit graph "n -> 2n, 2n + 1" below 16, a frame packs node and depth
+        LongStack frames = LongStack.growable(4);
+        frames.push(1L << 32);
+        System.out.print("Visited (node:depth):");
+        while (!frames.isEmpty()) {
+            long frame = frames.pop();
+            long node = frame >>> 32;
+            long depth = frame & 0xFFFFFFFFL;
+            System.out.print(" " + node + ":" + depth);
+            for (long child = 2 * node + 1; child >= 2 * node; child--) {
+                if (child < 16) {
+                    frames.push(child << 32 | depth + 1);
+                }
+            }
+        }
+        System.out.println();
+    }
+
+    private long[] values;
+    private int size;
+    private final boolean growable;
+
+    LongStack(int capacity) {
+        this(capacity, false);
+    }
+
+    private LongStack(int capacity, boolean growable) {
+        values = new long[capacity];
+        this.growable = growable;
+    }
+
+    /**
+     * Creates a stack which grows instead of throwing when it is full.
+     */
+    static LongStack growable(int initialCapacity) {
+        return new LongStack(Math.max(initialCapacity, 1), true);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean isFull() {
+        return !growable && size == values.length;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getCapacity() {
+        return values.length;
+    }
+
+    void push(long value) {
+        if (size == values.length) {
+            ensureCapacity(size + 1);
+        }
+        values[size++] = value;
+    }
+
+    long pop() {
+        if (isEmpty()) {
+            throw new IllegalArgumentException("You cannot pop item. Stack is empty.");
+        }
+        return values[--size];
+    }
+
+    long top() {
+        if (isEmpty()) {
+            throw new IllegalArgumentException("There is no top item. Stack is empty.");
+        }
+        return values[size - 1];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Pushes values one by one, the last value ends up on the top. Nothing is pushed if all of them don't fit.
+     */
+    void pushAll(long[] values) {
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, this.values, size, values.length);
+        size += values.length;
+    }
+
+    /**
+     * Removes up to n values into the array in the order pop() would return them, returns the number of removed values.
+     */
+    int popN(long[] destination, int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("N must not be negative, but was " + n);
+        }
+        int count = Math.min(Math.min(n, size), destination.length);
+        for (int i = 0; i < count; i++) {
+            destination[i] = values[--size];
+        }
+        return count;
+    }
+
+    /**
+     * Passes values to the action in the order they were pushed.
+     */
+    void forEachFromBottom(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(values[i]);
+        }
+    }
+
+    /**
+     * Passes values to the action in the order pop() would return them.
+     */
+    void forEachFromTop(LongConsumer action) {
+        for (int i = size - 1; i >= 0; i--) {
+            action.accept(values[i]);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= values.length) {
+            return;
+        }
+        if (!growable) {
+            throw new IllegalArgumentException("You cannot add item. Stack is full. Stack capacity is " + getCapacity());
+        }
+        values = Arrays.copyOf(values, Math.max(values.length * 2, capacity));
+    }
+}
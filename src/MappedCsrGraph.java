@@ -0,0 +1,343 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Read-only graph stored in a binary CSR file and used directly from memory-mapped buffers.
+ * <p>
+ * Loading a graph by addVertex()/addEdge() parses and hashes every element and builds the whole object graph
+ * on the heap before the first query. Here open() only maps the file: nothing is read or allocated per vertex,
+ * the OS pages in the parts of the file a query actually touches, and the pages are shared by all processes
+ * mapping the same file. Labels are looked up by a binary search over ids sorted by label.
+ * <p>
+ * File layout (big-endian, as DataOutputStream writes it), n vertices and m arcs:
+ *
+ *    header:         magic "CSRG", version, flags (1 = weighted), n, m (long)
+ *    offsets:        int[n + 1]       arcs of vertex v are targets[offsets[v]] .. targets[offsets[v + 1] - 1]
+ *    targets:        int[m]
+ *    weights:        long[m]          only in a weighted graph
+ *    label offsets:  long[n + 1]      UTF-8 label of vertex v is labels[labelOffsets[v]] .. labels[labelOffsets[v + 1] - 1]
+ *    sorted ids:     int[n]           vertex ids in the order of their labels (unsigned bytes)
+ *    labels:         byte[]
+ * <p>
+ * A Graph is written by write(graph.toCsr(), file), its vertex values become labels by String.valueOf().
+ */
+class MappedCsrGraph {
+
+    public static void main(String[] args) throws IOException {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        builder.addEdge("Minsk", "Brest", 350);
+        builder.addEdge("Minsk", "Vitebsk", 280);
+        builder.addEdge("Minsk", "Hrodna", 280);
+        builder.addEdge("Brest", "Hrodna", 240);
+        // a label which takes more bytes than chars in UTF-8
+        builder.addEdge("Vitebsk", "Mahilio\u016D", 160);
+        Path file = Files.createTempFile("roads", ".csr");
+        try {
+            write(builder.build(), file);
+            MappedCsrGraph roads = open(file);
+            //5 vertices, 10 arcs
+            System.out.println(roads.vertexCount() + " vertices, " + roads.arcCount() + " arcs, " + Files.size(file) + " bytes");
+            System.out.print("Breadth first from Brest:");
+            for (int id : roads.breadthFirstOrder(roads.id("Brest"))) {
+                System.out.print(" " + roads.label(id));
+            }
+            int mahiliou = roads.id("Mahilio\u016D");
+            //Vitebsk 160
+            System.out.println("\nNeighbour of Mahiliou: " + roads.label(roads.target(roads.firstArc(mahiliou)))
+                    + " " + roads.weight(roads.firstArc(mahiliou)));
+            //-1
+            System.out.println("Id of Homiel: " + roads.id("Homiel"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static final int MAGIC = 0x43535247;
+
+    private static final int VERSION = 1;
+
+    private static final int WEIGHTED = 1;
+
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+
+    private final int vertexCount;
+
+    private final int arcCount;
+
+    private final IntBuffer offsets;
+
+    private final IntBuffer targets;
+
+    // null if the graph is unweighted
+    private final LongBuffer weights;
+
+    private final LongBuffer labelOffsets;
+
+    private final IntBuffer sortedIds;
+
+    private final ByteBuffer labels;
+
+    private MappedCsrGraph(int vertexCount, int arcCount, IntBuffer offsets, IntBuffer targets, LongBuffer weights,
+                           LongBuffer labelOffsets, IntBuffer sortedIds, ByteBuffer labels) {
+        this.vertexCount = vertexCount;
+        this.arcCount = arcCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.labelOffsets = labelOffsets;
+        this.sortedIds = sortedIds;
+        this.labels = labels;
+    }
+
+    /**
+     * Writes the graph to the file in the format read by open().
+     */
+    static void write(CsrGraph<?> graph, Path file) throws IOException {
+        int n = graph.vertexCount();
+        byte[][] labelBytes = new byte[n][];
+        for (int id = 0; id < n; id++) {
+            labelBytes[id] = String.valueOf(graph.value(id)).getBytes(StandardCharsets.UTF_8);
+        }
+        Integer[] sorted = new Integer[n];
+        for (int id = 0; id < n; id++) {
+            sorted[id] = id;
+        }
+        Arrays.sort(sorted, Comparator.comparing(id -> labelBytes[id], MappedCsrGraph::compareBytes));
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(graph.isWeighted() ? WEIGHTED : 0);
+            out.writeInt(n);
+            out.writeLong(graph.arcCount());
+            for (int offset : graph.offsets()) {
+                out.writeInt(offset);
+            }
+            for (int target : graph.targets()) {
+                out.writeInt(target);
+            }
+            if (graph.isWeighted()) {
+                for (int arc = 0; arc < graph.arcCount(); arc++) {
+                    out.writeLong(graph.weight(arc));
+                }
+            }
+            long labelOffset = 0;
+            out.writeLong(labelOffset);
+            for (byte[] label : labelBytes) {
+                labelOffset += label.length;
+                out.writeLong(labelOffset);
+            }
+            for (int id : sorted) {
+                out.writeInt(id);
+            }
+            for (byte[] label : labelBytes) {
+                out.write(label);
+            }
+        }
+    }
+
+    /**
+     * Maps the file written by write(). Only the header is read, the rest is paged in by queries.
+     */
+    static MappedCsrGraph open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+            if (header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a CSR graph file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported CSR graph file version " + version);
+            }
+            boolean weighted = (header.getInt() & WEIGHTED) != 0;
+            int n = header.getInt();
+            long m = header.getLong();
+            // arc ids are ints, map() checks every section against the size of a mapped buffer
+            if (m < 0 || m > Integer.MAX_VALUE) {
+                throw new IOException("Graph with " + m + " arcs does not fit into mapped buffers");
+            }
+            int arcs = (int) m;
+            long position = HEADER_BYTES;
+            IntBuffer offsets = map(channel, position, (n + 1L) * Integer.BYTES).asIntBuffer();
+            position += (n + 1L) * Integer.BYTES;
+            IntBuffer targets = map(channel, position, (long) arcs * Integer.BYTES).asIntBuffer();
+            position += (long) arcs * Integer.BYTES;
+            LongBuffer weights = null;
+            if (weighted) {
+                weights = map(channel, position, (long) arcs * Long.BYTES).asLongBuffer();
+                position += (long) arcs * Long.BYTES;
+            }
+            LongBuffer labelOffsets = map(channel, position, (n + 1L) * Long.BYTES).asLongBuffer();
+            position += (n + 1L) * Long.BYTES;
+            IntBuffer sortedIds = map(channel, position, (long) n * Integer.BYTES).asIntBuffer();
+            position += (long) n * Integer.BYTES;
+            ByteBuffer labels = map(channel, position, channel.size() - position);
+            // the mapping stays valid after the channel is closed
+            return new MappedCsrGraph(n, arcs, offsets, targets, weights, labelOffsets, sortedIds, labels);
+        }
+    }
+
+    int vertexCount() {
+        return vertexCount;
+    }
+
+    int arcCount() {
+        return arcCount;
+    }
+
+    boolean isWeighted() {
+        return weights != null;
+    }
+
+    int degree(int id) {
+        checkId(id);
+        return offsets.get(id + 1) - offsets.get(id);
+    }
+
+    /**
+     * Returns the index of the first arc of the vertex, its arcs are firstArc(id) .. firstArc(id) + degree(id) - 1.
+     */
+    int firstArc(int id) {
+        checkId(id);
+        return offsets.get(id);
+    }
+
+    int target(int arc) {
+        return targets.get(arc);
+    }
+
+    /**
+     * Returns the weight of the arc, 1 if the graph is unweighted.
+     */
+    long weight(int arc) {
+        return weights == null ? 1 : weights.get(arc);
+    }
+
+    String label(int id) {
+        checkId(id);
+        int from = (int) labelOffsets.get(id);
+        byte[] bytes = new byte[(int) labelOffsets.get(id + 1) - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = labels.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the id of the vertex with the label, -1 if there is no such vertex. Takes O(log n) label comparisons.
+     */
+    int id(String label) {
+        byte[] key = label.getBytes(StandardCharsets.UTF_8);
+        int lo = 0, hi = vertexCount - 1;
+        while (lo <= hi) {
+            int middle = (lo + hi) >>> 1;
+            int id = sortedIds.get(middle);
+            int comparison = compareLabel(id, key);
+            if (comparison < 0) {
+                lo = middle + 1;
+            } else if (comparison > 0) {
+                hi = middle - 1;
+            } else {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns ids of vertices reachable from the source in breadth first order.
+     */
+    int[] breadthFirstOrder(int source) {
+        checkId(source);
+        long[] visited = new long[(vertexCount + 63) >>> 6];
+        int[] order = new int[vertexCount];
+        int head = 0, tail = 0;
+        order[tail++] = source;
+        visited[source >>> 6] |= 1L << source;
+        while (head < tail) {
+            int vertex = order[head++];
+            for (int i = offsets.get(vertex), end = offsets.get(vertex + 1); i < end; i++) {
+                int target = targets.get(i);
+                long bit = 1L << target;
+                if ((visited[target >>> 6] & bit) == 0) {
+                    visited[target >>> 6] |= bit;
+                    order[tail++] = target;
+                }
+            }
+        }
+        return Arrays.copyOf(order, tail);
+    }
+
+    /**
+     * Returns ids of vertices reachable from the source in depth first order, as CsrGraph.depthFirstOrder() does.
+     */
+    int[] depthFirstOrder(int source) {
+        checkId(source);
+        long[] visited = new long[(vertexCount + 63) >>> 6];
+        int[] order = new int[vertexCount];
+        // every vertex is pushed at most once
+        int[] stack = new int[vertexCount];
+        int count = 0, top = 0;
+        stack[top++] = source;
+        visited[source >>> 6] |= 1L << source;
+        while (top > 0) {
+            int vertex = stack[--top];
+            order[count++] = vertex;
+            for (int i = offsets.get(vertex), end = offsets.get(vertex + 1); i < end; i++) {
+                int target = targets.get(i);
+                long bit = 1L << target;
+                if ((visited[target >>> 6] & bit) == 0) {
+                    visited[target >>> 6] |= bit;
+                    stack[top++] = target;
+                }
+            }
+        }
+        return Arrays.copyOf(order, count);
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + size + " bytes does not fit into a mapped buffer");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    // compares the label of the id with the key as unsigned bytes, without decoding the label
+    private int compareLabel(int id, byte[] key) {
+        int from = (int) labelOffsets.get(id);
+        int length = (int) labelOffsets.get(id + 1) - from;
+        for (int i = 0; i < Math.min(length, key.length); i++) {
+            int comparison = Integer.compare(labels.get(from + i) & 0xFF, key[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(length, key.length);
+    }
+
+    private static int compareBytes(byte[] a, byte[] b) {
+        for (int i = 0; i < Math.min(a.length, b.length); i++) {
+            int comparison = Integer.compare(a[i] & 0xFF, b[i] & 0xFF);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return Integer.compare(a.length, b.length);
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= vertexCount) {
+            throw new IndexOutOfBoundsException("Vertex id " + id + " is out of range [0, " + vertexCount + ")");
+        }
+    }
+}
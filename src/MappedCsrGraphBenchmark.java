@@ -0,0 +1,95 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Startup of a graph snapshot: building Graph by addVertex()/addEdge() against opening its binary CSR file
+ * with MappedCsrGraph, then the first point query and a full BFS on the mapped buffers against the on-heap CsrGraph.
+ * The file has just been written, so its pages are in the OS cache: a cold start adds the disk reads of the pages
+ * a query touches, still not of the whole file.
+ * <p>
+ * Run: java -Xmx8g MappedCsrGraphBenchmark [vertices] [edges]
+ */
+class MappedCsrGraphBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 5 * vertices;
+        System.out.println(vertices + " vertices, " + edges + " random edges");
+
+        long before = BinarySearchTreeBenchmark.usedMemory();
+        long start = System.nanoTime();
+        Graph<String> graph = new Graph<>();
+        List<Graph.Vertex<String>> vertexObjects = CsrGraphBenchmark.addVertices(graph, vertices, i -> "user-" + i);
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            graph.addEdge(vertexObjects.get(random.nextInt(vertices)), vertexObjects.get(random.nextInt(vertices)));
+        }
+        long load = System.nanoTime() - start;
+        long memory = BinarySearchTreeBenchmark.usedMemory() - before;
+        System.out.printf("%-16s load: %,8d ms, heap: %,9d KB%n", "Graph", load / 1_000_000, memory / 1024);
+
+        CsrGraph<String> csr = graph.toCsr();
+        graph = null;
+        vertexObjects = null;
+        Path file = Files.createTempFile("graph", ".csr");
+        try {
+            start = System.nanoTime();
+            MappedCsrGraph.write(csr, file);
+            System.out.printf("%-16s written in %,d ms, %,d KB%n", "CSR file", (System.nanoTime() - start) / 1_000_000, Files.size(file) / 1024);
+
+            // run 0 is the startup: nothing of MappedCsrGraph is JIT-compiled and no page of the file is mapped yet,
+            // later runs reopen the same file with warm code and pages
+            long firstOpen = 0, firstQuery = 0;
+            long open = Long.MAX_VALUE, query = Long.MAX_VALUE;
+            MappedCsrGraph mapped = null;
+            for (int run = 0; run < RUNS; run++) {
+                before = BinarySearchTreeBenchmark.usedMemory();
+                start = System.nanoTime();
+                mapped = MappedCsrGraph.open(file);
+                long opened = System.nanoTime() - start;
+                memory = BinarySearchTreeBenchmark.usedMemory() - before;
+                start = System.nanoTime();
+                int id = mapped.id("user-" + random.nextInt(vertices));
+                check(mapped.degree(id) == csr.degree(csr.id(mapped.label(id))));
+                long queried = System.nanoTime() - start;
+                if (run == 0) {
+                    firstOpen = opened;
+                    firstQuery = queried;
+                } else {
+                    open = Math.min(open, opened);
+                    query = Math.min(query, queried);
+                }
+            }
+            System.out.printf("%-16s open: %,8d us, heap: %,9d KB, first lookup and degree: %,d us%n",
+                    "MappedCsrGraph", firstOpen / 1000, memory / 1024, firstQuery / 1000);
+            System.out.printf("%-16s open: %,8d us, best-of-%d warm lookup and degree: %,d us%n",
+                    "  warm", open / 1000, RUNS - 1, query / 1000);
+
+            int source = csr.id("user-0");
+            long heapBfs = Long.MAX_VALUE, mappedBfs = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                start = System.nanoTime();
+                int reached = csr.breadthFirstOrder(source).length;
+                heapBfs = Math.min(heapBfs, System.nanoTime() - start);
+                start = System.nanoTime();
+                check(mapped.breadthFirstOrder(source).length == reached);
+                mappedBfs = Math.min(mappedBfs, System.nanoTime() - start);
+            }
+            System.out.printf("%-16s BFS: %,8d ms%n", "CsrGraph", heapBfs / 1_000_000);
+            System.out.printf("%-16s BFS: %,8d ms%n", "MappedCsrGraph", mappedBfs / 1_000_000);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void check(boolean condition) {
+        if (!condition) {
+            throw new IllegalStateException("Mapped graph differs from the original one");
+        }
+    }
+}
@@ -0,0 +1,231 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Stack of fixed-width int records which keeps only its top on the Java heap and spills the rest to a file.
+ * <p>
+ * The records live in segments of the same size. The hot part is an int[] of two segments: when it is full,
+ * the older segment is written to the file, and when it is empty, the last spilled segment is read back.
+ * Keeping a whole segment in memory after either move means that alternating push() and pop() at a segment
+ * boundary never hits the file twice in a row.
+ * <p>
+ * The file is accessed through memory-mapped windows over several segments, so spilling and paging in are
+ * plain memory copies handled by the OS page cache. Windows start at multiples of their size and the last two
+ * are kept, so a stack moving back and forth across a window boundary switches between them without mapping
+ * anything; a new mapping is created only when the stack enters a window for the first time since the one
+ * before it. The heap footprint is the hot array and two window objects, whatever the depth of the stack is,
+ * so the garbage collector has nothing more to trace. A dropped mapping is released when its buffer is
+ * collected, Java has no way to unmap it earlier.
+ * <p>
+ * push(), pop(), top() take amortized O(width) time. The stack is not thread-safe.
+ *
+ *      file:  [ segment 0 | segment 1 | segment 2 ]          heap:  [ segment 3 | segment 4 ... top ]
+ *                         |<----- mapped window ----->|
+ */
+class MappedSpillStack implements Closeable {
+
+    public static void main(String[] args) throws IOException {
+        // frames of a backtracking search: (depth, choice), 4 records per segment to spill early
+        Path file = Files.createTempFile("spill-stack", ".bin");
+        try (MappedSpillStack stack = new MappedSpillStack(file, 2, 4)) {
+            int frames = 1_000;
+            for (int i = 0; i < frames; i++) {
+                stack.push(new int[]{i, i * 7 % 10});
+            }
+            System.out.println("Records: " + stack.size() + ", spilled to the file: " + stack.spilledRecords());
+            int[] frame = new int[2];
+            stack.top(frame);
+            //[999, 3]
+            System.out.println("Top(): " + Arrays.toString(frame));
+
+            boolean ordered = true;
+            for (int i = frames - 1; i >= 0; i--) {
+                stack.pop(frame);
+                ordered &= frame[0] == i && frame[1] == i * 7 % 10;
+            }
+            //true
+            System.out.println("All records popped in reverse order: " + (ordered && stack.isEmpty()));
+        }
+        //false
+        System.out.println("File exists after close(): " + Files.exists(file));
+    }
+
+    static final int DEFAULT_SEGMENT_RECORDS = 4096;
+
+    // segments covered by one mapping of the file
+    private static final int WINDOW_SEGMENTS = 16;
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    // ints per record
+    private final int width;
+
+    private final int segmentRecords;
+
+    // two segments, the lower one is spilled when both are full
+    private final int[] hot;
+
+    private int hotRecords;
+
+    private long spilledSegments;
+
+    // the window of the last accessed segment
+    private IntBuffer window;
+
+    // first segment of the file covered by the window, -1 if nothing is mapped
+    private long windowStart = -1;
+
+    // the window used before, kept to come back to it without remapping
+    private IntBuffer previousWindow;
+
+    private long previousWindowStart = -1;
+
+    /**
+     * Creates a stack spilling to the given file, which is truncated now and deleted by close().
+     */
+    MappedSpillStack(Path file, int width, int segmentRecords) throws IOException {
+        if (width < 1) {
+            throw new IllegalArgumentException("Record width must be positive, but was " + width);
+        }
+        if (segmentRecords < 1 || (long) segmentRecords * width * Integer.BYTES * WINDOW_SEGMENTS > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size " + segmentRecords + " is out of range for record width " + width);
+        }
+        this.file = file;
+        this.width = width;
+        this.segmentRecords = segmentRecords;
+        hot = new int[2 * segmentRecords * width];
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    MappedSpillStack(Path file, int width) throws IOException {
+        this(file, width, DEFAULT_SEGMENT_RECORDS);
+    }
+
+    long size() {
+        return spilledRecords() + hotRecords;
+    }
+
+    /**
+     * Returns the number of records stored in the file rather than on the heap.
+     */
+    long spilledRecords() {
+        return spilledSegments * segmentRecords;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int getWidth() {
+        return width;
+    }
+
+    /**
+     * Adds a record in the stack, the array must hold exactly width ints.
+     */
+    void push(int[] record) {
+        checkWidth(record);
+        if (hotRecords == 2 * segmentRecords) {
+            spill();
+        }
+        System.arraycopy(record, 0, hot, hotRecords * width, width);
+        hotRecords++;
+    }
+
+    /**
+     * Removes the last pushed record and copies it into the destination.
+     */
+    void pop(int[] destination) {
+        top(destination);
+        hotRecords--;
+    }
+
+    /**
+     * Copies the last pushed record into the destination without removing it.
+     */
+    void top(int[] destination) {
+        checkWidth(destination);
+        if (isEmpty()) {
+            throw new IllegalArgumentException("There is no top item. Stack is empty.");
+        }
+        if (hotRecords == 0) {
+            pageIn();
+        }
+        System.arraycopy(hot, (hotRecords - 1) * width, destination, 0, width);
+    }
+
+    /**
+     * Deletes the file. The stack can not be used afterwards.
+     */
+    @Override
+    public void close() throws IOException {
+        // the mappings are unmapped once nothing references them, some systems refuse to delete a mapped file
+        window = null;
+        previousWindow = null;
+        windowStart = -1;
+        previousWindowStart = -1;
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // moves the lower hot segment to the end of the file, the upper one takes its place
+    private void spill() {
+        int segmentInts = segmentRecords * width;
+        segment(spilledSegments).put(hot, 0, segmentInts);
+        System.arraycopy(hot, segmentInts, hot, 0, segmentInts);
+        hotRecords -= segmentRecords;
+        spilledSegments++;
+    }
+
+    // moves the last segment of the file into the empty hot array
+    private void pageIn() {
+        spilledSegments--;
+        segment(spilledSegments).get(hot, 0, segmentRecords * width);
+        hotRecords = segmentRecords;
+    }
+
+    // returns a view of the segment positioned at its start, switching or mapping the window if needed
+    private IntBuffer segment(long index) {
+        long start = index - index % WINDOW_SEGMENTS;
+        if (start != windowStart) {
+            IntBuffer next;
+            if (start == previousWindowStart) {
+                next = previousWindow;
+            } else {
+                long segmentBytes = (long) segmentRecords * width * Integer.BYTES;
+                try {
+                    // mapping beyond the end of the file extends it
+                    next = channel.map(FileChannel.MapMode.READ_WRITE, start * segmentBytes, WINDOW_SEGMENTS * segmentBytes)
+                            .asIntBuffer();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            previousWindow = window;
+            previousWindowStart = windowStart;
+            window = next;
+            windowStart = start;
+        }
+        window.position((int) (index - start) * segmentRecords * width);
+        return window;
+    }
+
+    private void checkWidth(int[] record) {
+        if (record.length != width) {
+            throw new IllegalArgumentException("Record must have " + width + " ints, but has " + record.length);
+        }
+    }
+}
@@ -1,3 +1,4 @@
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 /**
@@ -15,6 +16,24 @@ import java.util.NoSuchElementException;
  *        20        100          15         30
  *       /                      /  \        /  \
  *     30                     40    50    100   40
+ *
+ * The heap is stored in an array from index 1: children of i are 2i and 2i + 1, parent of i is i / 2.
+ * A heap created with a capacity throws when it is full, a heap created without it grows.
+ * <p>
+ * The heap can also be d-ary: every node has d children, children of i are d(i - 1) + 2 .. di + 1.
+ * The tree is log2(d) times lower, so sift-down visits fewer levels (each level is a likely cache miss
+ * on a big heap) at the price of d - 1 comparisons per level; insert only gets cheaper.
+ * <p>
+ * In the cache-aligned layout the array starts with d - 1 unused slots, so the root is at index d - 1 and its
+ * children start at index d; children of every node start at an index divisible by d: for d = 16 all children
+ * of a node are exactly one 64-byte cache line of ints (JVM doesn't guarantee the array itself starts on a line
+ * boundary, but siblings never straddle more lines than needed).
+ *
+ *    4-ary heap:            1                aligned array:  _  _  _  1 | 3  5  2  8 | 9  7 ...
+ *                    /   /    \    \                                      children of 1
+ *                   3   5      2    8                                                  children of 3
+ *                 /  |
+ *                9   7 ...
  */
 public class MinBinaryHeap {
 
@@ -36,88 +55,302 @@ public class MinBinaryHeap {
         System.out.println("Deleted: " + minHeap.remove(1));
         minHeap.print();
         System.out.println("Min element: " + minHeap.peek());
+
+        MinBinaryHeap built = MinBinaryHeap.fromArray(new int[]{6, 2, 14, 1, 99, 50, 33, 7, 4, 20});
+        built.insert(0);
+        System.out.print("Polling heap built from array:");
+        while (!built.isEmpty()) {
+            System.out.print(" " + built.poll());
+        }
+        System.out.println();
+
+        MinBinaryHeap fourAry = new MinBinaryHeap(16, 4, true);
+        for (int el : new int[]{6, 2, 14, 1, 99, 50, 33, 7, 4, 20}) {
+            fourAry.insert(el);
+        }
+        System.out.println("The cache-aligned 4-ary Min Heap is ");
+        fourAry.print();
+
+        MinBinaryHeap top3 = MinBinaryHeap.topK(3);
+        top3.insertAll(new int[]{6, 2, 14, 1, 99, 50, 33, 7, 4, 20});
+        int[] greatest = new int[3];
+        top3.drainTo(greatest, 3);
+        //[33, 50, 99]
+        System.out.println("Top 3: " + Arrays.toString(greatest));
     }
 
+    private static final int DEFAULT_CAPACITY = 16;
+
     private int[] heap;
 
     private int size;
 
+    // a growable heap doubles its array instead of throwing when it is full
+    private final boolean growable;
+
+    // number of children of every node
+    private final int arity;
+
+    // array index of the root: 1 in the plain layout, d - 1 in the cache-aligned one
+    private final int root;
+
+    // a top-K heap keeps only the K greatest elements offered to it, K is its capacity
+    private boolean topK;
+
     public MinBinaryHeap(int capacity) {
-        heap = new int[capacity + 1];
-        heap[0] = Integer.MIN_VALUE;
+        this(capacity, 2, false, false);
+    }
+
+    /**
+     * Creates a growable heap.
+     */
+    public MinBinaryHeap() {
+        this(DEFAULT_CAPACITY, 2, false, true);
+    }
+
+    /**
+     * Creates a growable d-ary heap, optionally with children of every node aligned to a multiple of d.
+     */
+    public MinBinaryHeap(int initialCapacity, int arity, boolean cacheAligned) {
+        this(initialCapacity, arity, cacheAligned, true);
+    }
+
+    private MinBinaryHeap(int capacity, int arity, boolean cacheAligned, boolean growable) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Every node has to have at least 2 children, but arity is " + arity);
+        }
+        this.arity = arity;
+        this.root = cacheAligned ? Math.max(arity - 1, 1) : 1;
+        this.growable = growable;
+        heap = new int[root + capacity];
+    }
+
+    /**
+     * Builds a growable heap from the values in O(n): every non-leaf subtree is heapified bottom-up,
+     * and most of them are low, which is cheaper than n inserts with O(log n) each.
+     */
+    static MinBinaryHeap fromArray(int[] values) {
+        MinBinaryHeap minHeap = new MinBinaryHeap(Math.max(values.length, DEFAULT_CAPACITY), 2, false, true);
+        System.arraycopy(values, 0, minHeap.heap, minHeap.root, values.length);
+        minHeap.size = values.length;
+        for (int i = minHeap.getParentIndex(minHeap.last()); i >= minHeap.root; i--) {
+            minHeap.siftDown(i);
+        }
+        return minHeap;
+    }
+
+    /**
+     * Creates a heap which keeps the k greatest elements offered to it, the least of them is on the top.
+     * An element which is not greater than the top is rejected with a single comparison.
+     */
+    static MinBinaryHeap topK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be positive, but was " + k);
+        }
+        MinBinaryHeap minHeap = new MinBinaryHeap(k, 2, false, false);
+        minHeap.topK = true;
+        return minHeap;
+    }
+
+    int getArity() {
+        return arity;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
     }
 
     void insert(int el) {
-        if (size >= heap.length) {
-            throw new IndexOutOfBoundsException("Heap is already full");
+        if (topK) {
+            offer(el);
+        } else {
+            append(el);
+        }
+    }
+
+    /**
+     * Inserts the element, returns false if a full top-K heap rejected it.
+     */
+    boolean offer(int el) {
+        if (!topK || last() < heap.length - 1) {
+            append(el);
+            return true;
+        }
+        if (el <= heap[root]) {
+            return false;
+        }
+        // the new element replaces the least of the top K
+        heap[root] = el;
+        siftDown(root);
+        return true;
+    }
+
+    /**
+     * Inserts all the values. When the batch is bigger than the heap, the values are appended
+     * and the whole heap is rebuilt bottom-up in O(n + k) instead of k inserts with O(log(n + k)) each.
+     */
+    void insertAll(int[] values) {
+        int fitting = values.length;
+        if (topK) {
+            fitting = Math.min(values.length, heap.length - 1 - last());
+        } else if (last() + values.length > heap.length - 1) {
+            if (!growable) {
+                throw new IndexOutOfBoundsException("Heap is already full");
+            }
+            heap = Arrays.copyOf(heap, Math.max(heap.length * 2, last() + values.length + 1));
+        }
+        if (fitting > size) {
+            System.arraycopy(values, 0, heap, last() + 1, fitting);
+            size += fitting;
+            for (int i = getParentIndex(last()); i >= root; i--) {
+                siftDown(i);
+            }
+        } else {
+            for (int i = 0; i < fitting; i++) {
+                append(values[i]);
+            }
+        }
+        // a full top-K heap takes the rest one by one, most of them are rejected by one comparison
+        for (int i = fitting; i < values.length; i++) {
+            offer(values[i]);
+        }
+    }
+
+    private void append(int el) {
+        if (last() == heap.length - 1) {
+            if (!growable) {
+                throw new IndexOutOfBoundsException("Heap is already full");
+            }
+            heap = Arrays.copyOf(heap, heap.length * 2);
         }
         // fill the next empty leaf
-        heap[++size] = el;
-        int currentIndex = size;
-        // if this node-leaf is less it's parent => swap parent and leaf
-        while (heap[currentIndex] < heap[getParentIndex(currentIndex)]) {
-            swap(currentIndex, getParentIndex(currentIndex));
-            currentIndex = getParentIndex(currentIndex);
+        size++;
+        heap[last()] = el;
+        siftUp(last());
+    }
+
+    /**
+     * Removes up to max min elements into the array in ascending order, returns the number of removed elements.
+     */
+    int drainTo(int[] destination, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("Max must not be negative, but was " + max);
         }
+        int count = Math.min(Math.min(max, size), destination.length);
+        for (int i = 0; i < count; i++) {
+            destination[i] = heap[root];
+            heap[root] = heap[last()];
+            size--;
+            if (size > 0) {
+                siftDown(root);
+            }
+        }
+        return count;
     }
 
+    /**
+     * Removes the element with the given index, the root has index 1.
+     */
     int remove(int index) {
-        int removed = heap[index];
-        heap[index] = heap[--size];
-        heapify(index);
+        if (index < 1 || index > size) {
+            throw new IndexOutOfBoundsException("There is no element with index " + index + ". Heap size is " + size);
+        }
+        int i = root + index - 1;
+        int removed = heap[i];
+        // the last leaf takes the place of the removed element and moves up or down
+        heap[i] = heap[last()];
+        size--;
+        if (i <= last()) {
+            siftDown(siftUp(i));
+        }
         return removed;
     }
 
-    // makes i-th subtree min binary heap
-    void heapify(int i) {
-        if (!isLeaf(i)) {
-            if (heap[i] > heap[getLeftChildIndex(i)] || heap[i] > heap[getRightChildIndex(i)]) {
-                if (heap[getLeftChildIndex(i)] < heap[getRightChildIndex(i)]) {
-                    swap(i, getLeftChildIndex(i));
-                    heapify(getLeftChildIndex(i));
-                } else {
-                    swap(i, getRightChildIndex(i));
-                    heapify(getRightChildIndex(i));
-                }
-            }
+    /**
+     * Removes and returns the min element.
+     */
+    int poll() {
+        if (size <= 0) {
+            throw new NoSuchElementException("Heap is empty. Nothing to poll");
         }
+        return remove(1);
+    }
+
+    // makes i-th subtree min binary heap, all child subtrees must be heaps already; the root has index 1
+    void heapify(int i) {
+        siftDown(root + i - 1);
     }
 
     int peek() {
         if (size <= 0) {
             throw new NoSuchElementException("Heap is empty. Nothing to peek");
         }
-        return heap[1];
+        return heap[root];
     }
 
     void print() {
-        for (int i = 1; i <= size / 2; i++) {
-            int right = size >= 2 * i + 1 ? heap[2 * i + 1] : Integer.MIN_VALUE;
-            System.out.printf("Parent: %s, Left: %s, Right: %s", heap[i], heap[2 * i], right);
+        for (int i = root; !isLeaf(i); i++) {
+            int left = getLeftChildIndex(i);
+            if (arity == 2) {
+                int right = left + 1 <= last() ? heap[left + 1] : Integer.MIN_VALUE;
+                System.out.printf("Parent: %s, Left: %s, Right: %s", heap[i], heap[left], right);
+            } else {
+                int to = Math.min(left + arity, last() + 1);
+                System.out.printf("Parent: %s, Children: %s", heap[i], Arrays.toString(Arrays.copyOfRange(heap, left, to)));
+            }
             System.out.println();
         }
     }
 
-    private int getParentIndex(int i) {
-        return i / 2;
+    // moves the element at i up while it is less than its parent, returns its new index
+    private int siftUp(int i) {
+        int value = heap[i];
+        while (i > root && value < heap[getParentIndex(i)]) {
+            heap[i] = heap[getParentIndex(i)];
+            i = getParentIndex(i);
+        }
+        heap[i] = value;
+        return i;
     }
 
-    private int getLeftChildIndex(int i) {
-        return 2 * i;
+    private void siftDown(int i) {
+        int value = heap[i];
+        // the value sinks down: the smallest child moves up until the value fits, swaps are not needed
+        while (!isLeaf(i)) {
+            int child = getLeftChildIndex(i);
+            int lastChild = Math.min(child + arity - 1, last());
+            for (int sibling = child + 1; sibling <= lastChild; sibling++) {
+                if (heap[sibling] < heap[child]) {
+                    child = sibling;
+                }
+            }
+            if (value <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = value;
     }
 
-    private int getRightChildIndex(int i) {
-        return 2 * i + 1;
+    private int last() {
+        return root + size - 1;
     }
 
-    private boolean isLeaf(int i) {
-        int lastNotLeaf = size / 2;
-        return i >= lastNotLeaf && i <= size;
+    private int getParentIndex(int i) {
+        return (i - root - 1) / arity + root;
     }
 
-    private void swap(int currentIndex, int parentIndex) {
-        int temp = heap[currentIndex];
-        heap[currentIndex] = heap[parentIndex];
-        heap[parentIndex] = temp;
+    // children of i are arity consecutive slots starting from this one
+    private int getLeftChildIndex(int i) {
+        return arity * (i - root) + root + 1;
+    }
+
+    private boolean isLeaf(int i) {
+        return getLeftChildIndex(i) > last();
     }
 }
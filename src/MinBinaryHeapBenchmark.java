@@ -0,0 +1,229 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Rough wall-clock comparison of the heaps with java.util.PriorityQueue.
+ * Every measurement is repeated a few times and the best run is printed, so the JIT has a chance to warm up.
+ * <p>
+ * Run: java MinBinaryHeapBenchmark [elements]
+ */
+class MinBinaryHeapBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] values = new Random(42).ints(elements).toArray();
+        Integer[] boxed = Arrays.stream(values).boxed().toArray(Integer[]::new);
+        long[] priorities = Arrays.stream(values).asLongStream().toArray();
+
+        System.out.println("Insert and poll " + elements + " random elements");
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            MinBinaryHeap heap = new MinBinaryHeap();
+            for (int value : values) {
+                heap.insert(value);
+            }
+            while (!heap.isEmpty()) {
+                heap.poll();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("MinBinaryHeap", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            LongMinBinaryHeap<Integer> heap = new LongMinBinaryHeap<>();
+            for (int i = 0; i < elements; i++) {
+                heap.insert(boxed[i], priorities[i]);
+            }
+            while (!heap.isEmpty()) {
+                heap.poll();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("LongMinBinaryHeap", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            ComparatorMinBinaryHeap<Integer> heap = new ComparatorMinBinaryHeap<>(Comparator.naturalOrder());
+            for (Integer value : boxed) {
+                heap.insert(value);
+            }
+            while (!heap.isEmpty()) {
+                heap.poll();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("ComparatorMinBinaryHeap", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            PriorityQueue<Integer> queue = new PriorityQueue<>(Comparator.naturalOrder());
+            for (Integer value : boxed) {
+                queue.add(value);
+            }
+            while (!queue.isEmpty()) {
+                queue.poll();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("PriorityQueue", best);
+
+        System.out.println("\nBuild from " + elements + " elements");
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            MinBinaryHeap heap = new MinBinaryHeap();
+            for (int value : values) {
+                heap.insert(value);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("MinBinaryHeap, insert per element", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            MinBinaryHeap.fromArray(values);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("MinBinaryHeap.fromArray", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            ComparatorMinBinaryHeap.fromArray(boxed, Comparator.naturalOrder());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("ComparatorMinBinaryHeap.fromArray", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            new PriorityQueue<>(Arrays.asList(boxed));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("PriorityQueue(Collection)", best);
+
+        System.out.println("\nInsert " + elements + " ids, decrease random keys " + elements + " times, poll all");
+        measureDecreaseKey(elements);
+
+        System.out.println("\nTop 100 of " + elements + " random elements");
+        measureTopK(values, 100);
+    }
+
+    private static void measureTopK(int[] values, int k) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            MinBinaryHeap heap = new MinBinaryHeap();
+            for (int value : values) {
+                heap.insert(value);
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("insert and poll per element", best);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            MinBinaryHeap heap = MinBinaryHeap.topK(k);
+            for (int value : values) {
+                heap.offer(value);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("topK, offer per element", best);
+
+        // the stream usually comes in batches
+        int[] batch = new int[4096];
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            MinBinaryHeap heap = MinBinaryHeap.topK(k);
+            for (int from = 0; from < values.length; from += batch.length) {
+                int length = Math.min(batch.length, values.length - from);
+                int[] chunk = length == batch.length ? batch : new int[length];
+                System.arraycopy(values, from, chunk, 0, length);
+                heap.insertAll(chunk);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("topK, insertAll per batch of " + batch.length, best);
+
+        best = Long.MAX_VALUE;
+        int[] sorted = new int[values.length];
+        for (int run = 0; run < RUNS; run++) {
+            MinBinaryHeap heap = new MinBinaryHeap();
+            heap.insertAll(values);
+            long start = System.nanoTime();
+            heap.drainTo(sorted, values.length);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("drainTo of all " + values.length + " elements", best);
+    }
+
+    private static void measureDecreaseKey(int ids) {
+        Random random = new Random(7);
+        long[] initialKeys = random.longs(ids, 1_000_000, 2_000_000).toArray();
+        int[] decreasedIds = random.ints(ids, 0, ids).toArray();
+        long[] decreases = random.longs(ids, 1, 1000).toArray();
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            IndexedMinBinaryHeap heap = new IndexedMinBinaryHeap(ids);
+            for (int id = 0; id < ids; id++) {
+                heap.insert(id, initialKeys[id]);
+            }
+            for (int i = 0; i < ids; i++) {
+                int id = decreasedIds[i];
+                heap.decreaseKey(id, heap.keyOf(id) - decreases[i]);
+            }
+            while (!heap.isEmpty()) {
+                heap.poll();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("IndexedMinBinaryHeap", best);
+
+        // the usual workaround: insert a duplicate entry with the new key and skip stale entries on poll
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            long[] keys = initialKeys.clone();
+            PriorityQueue<long[]> queue = new PriorityQueue<>(Comparator.comparingLong(entry -> entry[0]));
+            for (int id = 0; id < ids; id++) {
+                queue.add(new long[]{keys[id], id});
+            }
+            for (int i = 0; i < ids; i++) {
+                int id = decreasedIds[i];
+                keys[id] -= decreases[i];
+                queue.add(new long[]{keys[id], id});
+            }
+            while (!queue.isEmpty()) {
+                long[] entry = queue.poll();
+                // a polled id is marked, so its older entries are skipped as well
+                if (entry[0] == keys[(int) entry[1]]) {
+                    keys[(int) entry[1]] = Long.MIN_VALUE;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        report("PriorityQueue with duplicate entries", best);
+    }
+
+    static void report(String name, long nanos) {
+        System.out.printf("%s: %,d us%n", name, nanos / 1000);
+    }
+}
@@ -0,0 +1,59 @@
+import java.util.Random;
+
+/**
+ * Push/pop throughput of MinBinaryHeap layouts for heap sizes from 1K up to the given max size (x10 per step).
+ * For every size n the heap gets n random pushes and then n pops, repeated for a total of at least 10M operations
+ * so that small heaps are measured long enough. The best of a few repetitions is printed, in millions of operations per second.
+ * <p>
+ * Run: java -Xmx16g MinBinaryHeapLayoutBenchmark [max size, 100000000 for the full suite]
+ */
+class MinBinaryHeapLayoutBenchmark {
+
+    private static final int RUNS = 3;
+
+    private static final long MIN_OPERATIONS = 10_000_000;
+
+    private static final int[] ARITIES = {2, 4, 4, 8, 8, 16};
+
+    private static final boolean[] ALIGNED = {false, false, true, false, true, true};
+
+    // polled values are summed up here, so the JIT can't drop the polls
+    static long checksum;
+
+    public static void main(String[] args) {
+        int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int[] values = new Random(42).ints(maxSize).toArray();
+
+        System.out.printf("%-12s", "size");
+        for (int layout = 0; layout < ARITIES.length; layout++) {
+            System.out.printf("%16s", ARITIES[layout] + "-ary" + (ALIGNED[layout] ? " aligned" : ""));
+        }
+        System.out.println();
+        for (long size = 1000; size <= maxSize; size *= 10) {
+            System.out.printf("%-12d", size);
+            for (int layout = 0; layout < ARITIES.length; layout++) {
+                System.out.printf("%16.1f", measure((int) size, ARITIES[layout], ALIGNED[layout], values));
+            }
+            System.out.println();
+        }
+    }
+
+    private static double measure(int size, int arity, boolean aligned, int[] values) {
+        long repetitions = Math.max(1, MIN_OPERATIONS / (2L * size));
+        MinBinaryHeap heap = new MinBinaryHeap(size, arity, aligned);
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            for (long repetition = 0; repetition < repetitions; repetition++) {
+                for (int i = 0; i < size; i++) {
+                    heap.insert(values[i]);
+                }
+                for (int i = 0; i < size; i++) {
+                    checksum += heap.poll();
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return 2.0 * size * repetitions * 1000 / best;
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * MultiQueue is a concurrent relaxed min-priority queue (Rihani, Sanders, Dementiev) built from several MinBinaryHeaps.
+ * <p>
+ * A single heap behind a lock (PriorityBlockingQueue) serializes every producer and consumer on that lock.
+ * Here there are more heaps than threads, each with its own lock:
+ * - offer() puts the element into a random heap which is not locked at the moment.
+ * - poll() looks at the minimums of two random heaps and removes the smaller one.
+ * Threads almost never wait for each other, the price is that poll() returns one of the smallest elements,
+ * not always the smallest one: with c * threads heaps the expected rank of a polled element is O(c * threads).
+ * <p>
+ *     offer(7)        poll() -> min(3, 5) = 3
+ *        |                 |           |
+ *     [heap 0]  [heap 1]  [heap 2]  [heap 3]
+ *       min 1     min 3     min 8     min 5
+ */
+class MultiQueue {
+
+    public static void main(String[] args) throws InterruptedException {
+        MultiQueue queue = new MultiQueue(4);
+        Thread consumer = new Thread(() -> {
+            try {
+                // blocks until the producer offers something
+                System.out.println("Taken: " + queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        Thread.sleep(100);
+        queue.offer(42);
+        consumer.join();
+
+        for (int deadline : new int[]{6, 2, 14, 1, 99, 50, 33, 7, 4, 20}) {
+            queue.offer(deadline);
+        }
+        // roughly ascending: every poll picks the smaller of two heap minimums
+        System.out.print("Polled:");
+        Integer deadline;
+        while ((deadline = queue.poll()) != null) {
+            System.out.print(" " + deadline);
+        }
+        System.out.println();
+    }
+
+    // a poll gives up sampling and scans all heaps after this many failed attempts
+    private static final int SAMPLING_ATTEMPTS = 8;
+
+    private final Stripe[] stripes;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    // consumers blocked in take() wait here
+    private final ReentrantLock waitLock = new ReentrantLock();
+
+    private final Condition notEmpty = waitLock.newCondition();
+
+    private volatile int waiters;
+
+    /**
+     * Creates a queue with 2 heaps per expected thread.
+     */
+    MultiQueue(int threads) {
+        int heaps = Math.max(2, 2 * threads);
+        stripes = new Stripe[heaps];
+        for (int i = 0; i < heaps; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    MultiQueue() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the number of elements, exact only when there are no concurrent updates. Never negative:
+     * an element is counted before it is inserted and uncounted after it is removed.
+     */
+    int size() {
+        return size.get();
+    }
+
+    boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    void offer(int el) {
+        // counted before it is visible, so a poll which takes it can't bring size below 0;
+        // polls seeing the count early retry until the insert is done
+        size.incrementAndGet();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            Stripe stripe = stripes[random.nextInt(stripes.length)];
+            if (stripe.lock.tryLock()) {
+                try {
+                    stripe.heap.insert(el);
+                    stripe.min = stripe.heap.peek();
+                } finally {
+                    stripe.lock.unlock();
+                }
+                break;
+            }
+        }
+        // size is updated before waiters is read, and take() does it the other way round,
+        // so either the consumer sees the element or the producer sees the consumer
+        if (waiters > 0) {
+            waitLock.lock();
+            try {
+                notEmpty.signal();
+            } finally {
+                waitLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns one of the smallest elements, null if the queue is empty. Never blocks.
+     */
+    Integer poll() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int attempts = 0;
+        while (size.get() > 0) {
+            Stripe stripe;
+            if (++attempts <= SAMPLING_ATTEMPTS) {
+                Stripe first = stripes[random.nextInt(stripes.length)];
+                Stripe second = stripes[random.nextInt(stripes.length)];
+                stripe = first.min <= second.min ? first : second;
+            } else {
+                // few elements in many heaps: sampling would mostly hit empty ones
+                stripe = minStripe();
+            }
+            if (stripe.min == Stripe.EMPTY || !stripe.lock.tryLock()) {
+                continue;
+            }
+            int el;
+            try {
+                if (stripe.heap.isEmpty()) {
+                    continue;
+                }
+                el = stripe.heap.poll();
+                stripe.min = stripe.heap.isEmpty() ? Stripe.EMPTY : stripe.heap.peek();
+            } finally {
+                stripe.lock.unlock();
+            }
+            size.decrementAndGet();
+            return el;
+        }
+        return null;
+    }
+
+    /**
+     * Removes and returns one of the smallest elements, waits until there is one.
+     */
+    int take() throws InterruptedException {
+        while (true) {
+            Integer el = poll();
+            if (el != null) {
+                return el;
+            }
+            waitLock.lockInterruptibly();
+            try {
+                waiters++;
+                while (size.get() == 0) {
+                    notEmpty.await();
+                }
+            } finally {
+                waiters--;
+                waitLock.unlock();
+            }
+        }
+    }
+
+    private Stripe minStripe() {
+        Stripe min = stripes[0];
+        for (Stripe stripe : stripes) {
+            if (stripe.min < min.min) {
+                min = stripe;
+            }
+        }
+        return min;
+    }
+
+    static class Stripe {
+
+        static final long EMPTY = Long.MAX_VALUE;
+
+        final MinBinaryHeap heap = new MinBinaryHeap();
+
+        final ReentrantLock lock = new ReentrantLock();
+
+        // min element of the heap published for lock-free sampling, EMPTY if the heap is empty
+        volatile long min = EMPTY;
+    }
+}
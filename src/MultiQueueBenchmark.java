@@ -0,0 +1,122 @@
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and latency of MultiQueue against PriorityBlockingQueue.
+ * Every thread alternates offer and poll of random deadlines on a prefilled queue for a fixed time,
+ * every 64th operation is timed to get the latency percentiles.
+ * <p>
+ * Run: java MultiQueueBenchmark [milliseconds per measurement]
+ */
+class MultiQueueBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static final int PREFILL = 100_000;
+
+    private static final int SAMPLES_PER_THREAD = 1 << 16;
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        System.out.printf("%-8s %-22s %15s %10s %10s%n", "threads", "queue", "ops/s", "p50 ns", "p99 ns");
+        for (int threads : THREADS) {
+            measure("PriorityBlockingQueue", new BlockingQueueAdapter(), threads, millis);
+            measure("MultiQueue", new MultiQueueAdapter(threads), threads, millis);
+        }
+    }
+
+    private static void measure(String name, Queue queue, int threads, long millis) throws InterruptedException {
+        for (int i = 0; i < PREFILL; i++) {
+            queue.offer(ThreadLocalRandom.current().nextInt());
+        }
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(threads);
+        long[][] latencies = new long[threads][SAMPLES_PER_THREAD];
+        int[] samples = new int[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                started.countDown();
+                while (running.get()) {
+                    boolean timed = (done & 63) == 0 && samples[thread] < SAMPLES_PER_THREAD;
+                    long start = timed ? System.nanoTime() : 0;
+                    if ((done & 1) == 0) {
+                        queue.offer(random.nextInt());
+                    } else {
+                        queue.poll();
+                    }
+                    if (timed) {
+                        latencies[thread][samples[thread]++] = System.nanoTime() - start;
+                    }
+                    done++;
+                }
+                operations.add(done);
+            });
+            workers[t].start();
+        }
+        started.await();
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long[] all = new long[Arrays.stream(samples).sum()];
+        int filled = 0;
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(latencies[t], 0, all, filled, samples[t]);
+            filled += samples[t];
+        }
+        Arrays.sort(all);
+        System.out.printf("%-8d %-22s %,15d %10d %10d%n", threads, name, operations.sum() * 1000 / millis,
+                all[all.length / 2], all[(int) (all.length * 0.99)]);
+    }
+
+    interface Queue {
+
+        void offer(int el);
+
+        void poll();
+    }
+
+    static class BlockingQueueAdapter implements Queue {
+
+        private final PriorityBlockingQueue<Integer> queue = new PriorityBlockingQueue<>();
+
+        @Override
+        public void offer(int el) {
+            queue.offer(el);
+        }
+
+        @Override
+        public void poll() {
+            queue.poll();
+        }
+    }
+
+    static class MultiQueueAdapter implements Queue {
+
+        private final MultiQueue queue;
+
+        MultiQueueAdapter(int threads) {
+            queue = new MultiQueue(threads);
+        }
+
+        @Override
+        public void offer(int el) {
+            queue.offer(el);
+        }
+
+        @Override
+        public void poll() {
+            queue.poll();
+        }
+    }
+}
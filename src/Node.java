@@ -6,6 +6,12 @@ class Node<T> {
 
     private Node<T> right;
 
+    // height of the subtree rooted at this node, maintained by self-balancing trees
+    private int height = 1;
+
+    // number of nodes in the subtree rooted at this node, used by order statistic queries
+    private int size = 1;
+
     T getKey() {
         return key;
     }
@@ -18,6 +24,14 @@ class Node<T> {
         return right;
     }
 
+    int getHeight() {
+        return height;
+    }
+
+    int getSize() {
+        return size;
+    }
+
     void setKey(T key) {
         this.key = key;
     }
@@ -30,6 +44,14 @@ class Node<T> {
         this.right = right;
     }
 
+    void setHeight(int height) {
+        this.height = height;
+    }
+
+    void setSize(int size) {
+        this.size = size;
+    }
+
     Node(T key) {
         this.key = key;
     }
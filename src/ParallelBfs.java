@@ -0,0 +1,368 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Level-synchronous parallel breadth first search over a CsrGraph (Beamer, Asanovic, Patterson direction-optimizing BFS).
+ * <p>
+ * Every level expands the whole frontier in a ForkJoinPool: the frontier is split into ranges, each task visits
+ * the neighbours of its range and claims unvisited ones in an atomic bitset with a compare-and-set,
+ * so each vertex gets exactly one parent. The next frontier is complete when all tasks are joined.
+ * <p>
+ * Top-down steps cost a claim attempt per arc of the frontier. When the frontier is big, most of those arcs lead
+ * to vertices which are already visited, and it is cheaper to go bottom-up: every unvisited vertex looks through
+ * its neighbours for one in the frontier and stops at the first hit. The search switches to bottom-up when
+ * the frontier has more than 1/ALPHA of the unexplored arcs and back when it has less than 1/BETA of the vertices.
+ * Bottom-up tasks own whole 64-vertex words of the bitsets, so they don't need atomic updates.
+ * <p>
+ * Bottom-up steps need the predecessors of a vertex, so a direction-optimizing search keeps the reverse graph
+ * built once by the constructor: twice the memory of the graph, but correct for directed graphs too.
+ */
+class ParallelBfs {
+
+    public static void main(String[] args) {
+        CsrGraph.Builder<String> builder = new CsrGraph.Builder<>();
+        builder.addEdge("Australia", "Belarus");
+        builder.addEdge("Australia", "Canada");
+        builder.addEdge("Australia", "Denmark");
+        builder.addEdge("Belarus", "Canada");
+        builder.addEdge("Belarus", "Ethiopia");
+        builder.addVertex("Fiji");
+        CsrGraph<String> graph = builder.build();
+        Result result = new ParallelBfs(graph).search(graph.id("Australia"));
+        for (int id = 0; id < graph.vertexCount(); id++) {
+            int parent = result.parents()[id];
+            System.out.println(graph.value(id) + ": distance " + result.distances()[id]
+                    + (parent < 0 ? "" : ", parent " + graph.value(parent)));
+        }
+        //2
+        System.out.println("Levels: " + result.levels());
+
+        // a directed graph big enough for bottom-up steps: 0 -> 1..3000 -> 3001 -> 0
+        CsrGraph.Builder<Integer> directed = new CsrGraph.Builder<>();
+        for (int i = 1; i <= 3000; i++) {
+            directed.addArc(0, i);
+            directed.addArc(i, 3001);
+        }
+        directed.addArc(3001, 0);
+        CsrGraph<Integer> cycle = directed.build();
+        int[] distances = new ParallelBfs(cycle).search(cycle.id(0)).distances();
+        int[] topDown = new ParallelBfs(cycle, ForkJoinPool.commonPool(), false).search(cycle.id(0)).distances();
+        //2
+        System.out.println("Directed graph, distance of 3001: " + distances[cycle.id(3001)]);
+        //true
+        System.out.println("Same distances as top-down only: " + Arrays.equals(distances, topDown));
+    }
+
+    // top-down to bottom-up when frontier arcs > unexplored arcs / ALPHA
+    static final int ALPHA = 14;
+
+    // bottom-up to top-down when frontier vertices < vertices / BETA
+    static final int BETA = 24;
+
+    // frontier vertices (or bitset words in bottom-up steps) handled by one task without splitting
+    private static final int GRAIN = 1024;
+
+    private final CsrGraph<?> graph;
+
+    // the reverse graph for bottom-up steps, null if all steps are top-down
+    private final CsrGraph<?> predecessors;
+
+    private final ForkJoinPool pool;
+
+    private final boolean directionOptimizing;
+
+    ParallelBfs(CsrGraph<?> graph) {
+        this(graph, ForkJoinPool.commonPool(), true);
+    }
+
+    /**
+     * Creates a search running in the pool, with directionOptimizing = false all steps are top-down.
+     */
+    ParallelBfs(CsrGraph<?> graph, ForkJoinPool pool, boolean directionOptimizing) {
+        this.graph = graph;
+        this.pool = pool;
+        this.directionOptimizing = directionOptimizing;
+        predecessors = directionOptimizing ? graph.reverse() : null;
+    }
+
+    /**
+     * Returns distances (in edges, -1 if unreachable) and parents (-1 for the source and unreachable vertices)
+     * of the breadth first search tree from the source.
+     */
+    Result search(int source) {
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IndexOutOfBoundsException("Vertex id " + source + " is out of range [0, " + n + ")");
+        }
+        Search search = new Search(n);
+        search.distances[source] = 0;
+        search.visited.set(source >>> 6, 1L << source);
+        int[] frontier = {source};
+        int frontierSize = 1;
+        long frontierArcs = graph.degree(source);
+        long unexploredArcs = graph.arcCount() - frontierArcs;
+        long[] frontierBits = null;
+        int level = 0;
+        while (frontierSize > 0) {
+            boolean bottomUp = directionOptimizing && (frontierBits != null
+                    ? frontierSize >= n / BETA
+                    : frontierArcs > unexploredArcs / ALPHA);
+            search.nextArcs.reset();
+            if (bottomUp) {
+                if (frontierBits == null) {
+                    frontierBits = toBits(frontier, frontierSize, n);
+                }
+                long[] nextBits = new long[frontierBits.length];
+                search.nextSize.set(0);
+                pool.invoke(new BottomUpStep(search, frontierBits, nextBits, level, 0, frontierBits.length));
+                frontierBits = nextBits;
+                frontierSize = search.nextSize.get();
+                frontier = null;
+            } else {
+                if (frontier == null) {
+                    frontier = toArray(frontierBits, frontierSize);
+                    frontierBits = null;
+                }
+                int[] next = new int[Math.min(n, (int) Math.min(Integer.MAX_VALUE, frontierArcs))];
+                search.nextSize.set(0);
+                pool.invoke(new TopDownStep(search, frontier, next, level, 0, frontierSize));
+                frontier = next;
+                frontierSize = search.nextSize.get();
+            }
+            frontierArcs = search.nextArcs.sum();
+            unexploredArcs -= frontierArcs;
+            if (frontierSize > 0) {
+                level++;
+            }
+        }
+        return new Result(search.distances, search.parents, level);
+    }
+
+    private static long[] toBits(int[] frontier, int size, int n) {
+        long[] bits = new long[(n + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            bits[frontier[i] >>> 6] |= 1L << frontier[i];
+        }
+        return bits;
+    }
+
+    private static int[] toArray(long[] bits, int size) {
+        int[] frontier = new int[size];
+        int count = 0;
+        for (int word = 0; word < bits.length; word++) {
+            for (long w = bits[word]; w != 0; w &= w - 1) {
+                frontier[count++] = word << 6 | Long.numberOfTrailingZeros(w);
+            }
+        }
+        return frontier;
+    }
+
+    /**
+     * Result of a search: distances and parents indexed by vertex id.
+     */
+    static class Result {
+
+        private final int[] distances;
+
+        private final int[] parents;
+
+        private final int levels;
+
+        Result(int[] distances, int[] parents, int levels) {
+            this.distances = distances;
+            this.parents = parents;
+            this.levels = levels;
+        }
+
+        int[] distances() {
+            return distances;
+        }
+
+        int[] parents() {
+            return parents;
+        }
+
+        /**
+         * Returns the greatest distance from the source.
+         */
+        int levels() {
+            return levels;
+        }
+    }
+
+    // state shared by the steps of one search
+    private class Search {
+
+        final int[] distances;
+
+        final int[] parents;
+
+        final AtomicLongArray visited;
+
+        final AtomicInteger nextSize = new AtomicInteger();
+
+        // sum of degrees of the next frontier
+        final LongAdder nextArcs = new LongAdder();
+
+        Search(int n) {
+            distances = new int[n];
+            parents = new int[n];
+            Arrays.fill(distances, -1);
+            Arrays.fill(parents, -1);
+            visited = new AtomicLongArray((n + 63) >>> 6);
+        }
+
+        // sets the bit of the vertex, returns false if it was already set
+        boolean claim(int vertex) {
+            int word = vertex >>> 6;
+            long bit = 1L << vertex;
+            while (true) {
+                long current = visited.get(word);
+                if ((current & bit) != 0) {
+                    return false;
+                }
+                if (visited.compareAndSet(word, current, current | bit)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    // visits neighbours of frontier[from, to)
+    @SuppressWarnings("serial")
+    private class TopDownStep extends RecursiveAction {
+
+        private final Search search;
+
+        private final int[] frontier;
+
+        private final int[] next;
+
+        private final int level;
+
+        private final int from;
+
+        private final int to;
+
+        TopDownStep(Search search, int[] frontier, int[] next, int level, int from, int to) {
+            this.search = search;
+            this.frontier = frontier;
+            this.next = next;
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TopDownStep(search, frontier, next, level, from, middle),
+                        new TopDownStep(search, frontier, next, level, middle, to));
+                return;
+            }
+            int[] offsets = graph.offsets();
+            int[] targets = graph.targets();
+            // discovered vertices are collected locally and copied to the next frontier in one block
+            int[] local = new int[64];
+            int count = 0;
+            long arcs = 0;
+            for (int i = from; i < to; i++) {
+                int vertex = frontier[i];
+                for (int a = offsets[vertex], end = offsets[vertex + 1]; a < end; a++) {
+                    int target = targets[a];
+                    if ((search.visited.get(target >>> 6) & 1L << target) == 0 && search.claim(target)) {
+                        search.parents[target] = vertex;
+                        search.distances[target] = level + 1;
+                        arcs += offsets[target + 1] - offsets[target];
+                        if (count == local.length) {
+                            local = Arrays.copyOf(local, count * 2);
+                        }
+                        local[count++] = target;
+                    }
+                }
+            }
+            if (count > 0) {
+                int at = search.nextSize.getAndAdd(count);
+                System.arraycopy(local, 0, next, at, count);
+                search.nextArcs.add(arcs);
+            }
+        }
+    }
+
+    // looks for parents of unvisited vertices in bitset words [from, to)
+    @SuppressWarnings("serial")
+    private class BottomUpStep extends RecursiveAction {
+
+        private final Search search;
+
+        private final long[] frontierBits;
+
+        private final long[] nextBits;
+
+        private final int level;
+
+        private final int from;
+
+        private final int to;
+
+        BottomUpStep(Search search, long[] frontierBits, long[] nextBits, int level, int from, int to) {
+            this.search = search;
+            this.frontierBits = frontierBits;
+            this.nextBits = nextBits;
+            this.level = level;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > GRAIN) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BottomUpStep(search, frontierBits, nextBits, level, from, middle),
+                        new BottomUpStep(search, frontierBits, nextBits, level, middle, to));
+                return;
+            }
+            int[] offsets = predecessors.offsets();
+            int[] sources = predecessors.targets();
+            // out-degrees of the next frontier
+            int[] successorOffsets = graph.offsets();
+            int n = graph.vertexCount();
+            int count = 0;
+            long arcs = 0;
+            for (int word = from; word < to; word++) {
+                long visitedWord = search.visited.get(word);
+                long found = 0;
+                for (int vertex = word << 6, last = Math.min(vertex + 64, n); vertex < last; vertex++) {
+                    if ((visitedWord & 1L << vertex) != 0) {
+                        continue;
+                    }
+                    for (int a = offsets[vertex], end = offsets[vertex + 1]; a < end; a++) {
+                        int parent = sources[a];
+                        if ((frontierBits[parent >>> 6] & 1L << parent) != 0) {
+                            search.parents[vertex] = parent;
+                            search.distances[vertex] = level + 1;
+                            found |= 1L << vertex;
+                            arcs += successorOffsets[vertex + 1] - successorOffsets[vertex];
+                            count++;
+                            break;
+                        }
+                    }
+                }
+                if (found != 0) {
+                    // the word belongs to this task only
+                    search.visited.set(word, visitedWord | found);
+                    nextBits[word] = found;
+                }
+            }
+            if (count > 0) {
+                search.nextSize.addAndGet(count);
+                search.nextArcs.add(arcs);
+            }
+        }
+    }
+}
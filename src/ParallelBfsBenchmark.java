@@ -0,0 +1,59 @@
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scaling of ParallelBfs from 1 to N cores against the sequential CsrGraph.distances() on a random undirected graph,
+ * with top-down steps only and with direction optimization.
+ * <p>
+ * Run: java -Xmx8g ParallelBfsBenchmark [vertices] [edges] [max threads]
+ */
+class ParallelBfsBenchmark {
+
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) {
+        int vertices = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        int edges = args.length > 1 ? Integer.parseInt(args[1]) : 8 * vertices;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        for (int i = 0; i < vertices; i++) {
+            builder.addVertex(i);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < edges; i++) {
+            builder.addEdge(random.nextInt(vertices), random.nextInt(vertices));
+        }
+        CsrGraph<Integer> graph = builder.build();
+        builder = null;
+        System.out.println(vertices + " vertices, " + graph.arcCount() + " arcs");
+
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            graph.distances(0);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-8s %,14d us%n", "sequential", best / 1000);
+
+        System.out.printf("%-8s %14s %22s%n", "threads", "top-down", "direction-optimizing");
+        // powers of two and the max itself
+        for (int threads = 1; threads <= maxThreads; threads = threads == maxThreads ? threads + 1 : Math.min(threads * 2, maxThreads)) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            System.out.printf("%-8d %,11d us %,19d us%n", threads,
+                    measure(new ParallelBfs(graph, pool, false)) / 1000,
+                    measure(new ParallelBfs(graph, pool, true)) / 1000);
+            pool.shutdown();
+        }
+    }
+
+    private static long measure(ParallelBfs bfs) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            bfs.search(0);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
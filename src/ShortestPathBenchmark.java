@@ -0,0 +1,83 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Latency of point-to-point queries of ShortestPathEngine on a road-style grid: every vertex is a crossing
+ * connected to its 4 neighbours by two-way streets of random length 10..100.
+ * A* uses the Manhattan distance times the shortest street length, which never overestimates.
+ * <p>
+ * Run: java -Xmx4g ShortestPathBenchmark [grid side] [queries]
+ */
+class ShortestPathBenchmark {
+
+    private static final int MIN_WEIGHT = 10;
+
+    private static final int MAX_WEIGHT = 100;
+
+    public static void main(String[] args) {
+        int side = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        CsrGraph.Builder<Integer> builder = new CsrGraph.Builder<>();
+        Random random = new Random(42);
+        for (int v = 0; v < side * side; v++) {
+            builder.addVertex(v);
+        }
+        for (int row = 0; row < side; row++) {
+            for (int column = 0; column < side; column++) {
+                int v = row * side + column;
+                if (column + 1 < side) {
+                    builder.addEdge(v, v + 1, MIN_WEIGHT + random.nextInt(MAX_WEIGHT - MIN_WEIGHT + 1));
+                }
+                if (row + 1 < side) {
+                    builder.addEdge(v, v + side, MIN_WEIGHT + random.nextInt(MAX_WEIGHT - MIN_WEIGHT + 1));
+                }
+            }
+        }
+        CsrGraph<Integer> graph = builder.build();
+        builder = null;
+        // vertex values are their ids, so the grid position is known from the id
+        ShortestPathEngine.Heuristic manhattan = (vertex, target) ->
+                (Math.abs(vertex / side - target / side) + Math.abs(vertex % side - target % side)) * (long) MIN_WEIGHT;
+        int[] sources = new int[queries], targets = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            sources[i] = random.nextInt(side * side);
+            targets[i] = random.nextInt(side * side);
+        }
+        System.out.println(side + "x" + side + " grid, " + graph.vertexCount() + " vertices, " + queries + " random queries");
+
+        ShortestPathEngine engine = new ShortestPathEngine(graph);
+        long[] dijkstra = new long[queries], aStar = new long[queries], bidirectional = new long[queries];
+        // the first pass warms up the JIT, the second one is measured
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < queries; i++) {
+                long start = System.nanoTime();
+                long expected = engine.dijkstra(sources[i], targets[i]);
+                dijkstra[i] = System.nanoTime() - start;
+                start = System.nanoTime();
+                long found = engine.aStar(sources[i], targets[i], manhattan);
+                aStar[i] = System.nanoTime() - start;
+                check(found, expected);
+                start = System.nanoTime();
+                found = engine.bidirectional(sources[i], targets[i]);
+                bidirectional[i] = System.nanoTime() - start;
+                check(found, expected);
+            }
+        }
+        report("Dijkstra", dijkstra);
+        report("A*", aStar);
+        report("Bidirectional", bidirectional);
+    }
+
+    private static void report(String name, long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-14s p50: %,8d us, p99: %,8d us, max: %,8d us%n", name,
+                sorted[sorted.length / 2] / 1000, sorted[(int) (sorted.length * 0.99)] / 1000, sorted[sorted.length - 1] / 1000);
+    }
+
+    private static void check(long found, long expected) {
+        if (found != expected) {
+            throw new IllegalStateException("Found distance " + found + ", but Dijkstra found " + expected);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.Arrays;
+
+/**
+ * Point-to-point shortest paths on a weighted CsrGraph with non-negative weights: Dijkstra, A* and bidirectional Dijkstra.
+ * <p>
+ * - dijkstra() settles vertices in the order of their distance from the source and stops at the target
+ * - aStar() orders them by distance plus a heuristic estimate of the rest of the way, so vertices
+ *   leading away from the target are settled later or never; the heuristic must never overestimate
+ *   and must be consistent (estimate(u) <= weight(u, v) + estimate(v)), e.g. a straight line distance
+ * - bidirectional() runs Dijkstra from the source and, on the reverse graph, from the target,
+ *   and stops when the two searches together can not improve the best path found where they meet:
+ *   each side covers about half the radius, i.e. much less than half the vertices on a road network
+ * <p>
+ * The engine is meant for many queries: distances, parents and heaps are allocated once for the graph,
+ * and a query resets only the vertices the previous one touched, so a query allocates nothing.
+ * The engine is not thread-safe, a thread should have its own.
+ */
+class ShortestPathEngine {
+
+    public static void main(String[] args) {
+        // one-way streets of a small town
+        Graph<String> town = new Graph<>(true);
+        Graph.Vertex<String> home = new Graph.Vertex<>("Home");
+        Graph.Vertex<String> market = new Graph.Vertex<>("Market");
+        Graph.Vertex<String> park = new Graph.Vertex<>("Park");
+        Graph.Vertex<String> school = new Graph.Vertex<>("School");
+        Arrays.asList(home, market, park, school).forEach(town::addVertex);
+        town.addEdge(home, market, 7);
+        town.addEdge(home, park, 2);
+        town.addEdge(park, market, 3);
+        town.addEdge(market, school, 1);
+        town.addEdge(school, home, 4);
+        CsrGraph<String> graph = town.toCsr();
+
+        ShortestPathEngine engine = new ShortestPathEngine(graph);
+        int from = graph.id("Home"), to = graph.id("School");
+        //6
+        System.out.println("Dijkstra from Home to School: " + engine.dijkstra(from, to) + " " + names(graph, engine.path()));
+        System.out.println("A* (without a heuristic): " + engine.aStar(from, to, (vertex, target) -> 0));
+        System.out.println("Bidirectional: " + engine.bidirectional(from, to) + " " + names(graph, engine.path()));
+        //6, School -> Home -> Park (streets are one-way)
+        System.out.println("Dijkstra from School to Park: " + engine.dijkstra(to, graph.id("Park")));
+    }
+
+    /**
+     * Distance returned when there is no path.
+     */
+    static final long UNREACHABLE = -1;
+
+    private static final long INFINITY = Long.MAX_VALUE;
+
+    /**
+     * Lower bound of the distance from a vertex to the target.
+     */
+    interface Heuristic {
+
+        long estimate(int vertex, int target);
+    }
+
+    private final CsrGraph<?> graph;
+
+    // reverse graph for the backward search, built by the first bidirectional query
+    private CsrGraph<?> reverse;
+
+    private final SearchState forward;
+
+    // allocated by the first bidirectional query
+    private SearchState backward;
+
+    // vertex where the path of the last query was found for path(), -1 if there was no path
+    private int meeting = -1;
+
+    private boolean lastBidirectional;
+
+    ShortestPathEngine(CsrGraph<?> graph) {
+        this.graph = graph;
+        forward = new SearchState(graph.vertexCount());
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the target, UNREACHABLE if there is none.
+     */
+    long dijkstra(int source, int target) {
+        return aStar(source, target, null);
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the target, UNREACHABLE if there is none.
+     * The heuristic must be admissible and consistent, otherwise the path may be not the shortest one.
+     */
+    long aStar(int source, int target, Heuristic heuristic) {
+        checkId(source);
+        checkId(target);
+        startQuery(false);
+        SearchState state = forward;
+        state.reach(source, 0, -1);
+        state.heap.insert(source, heuristic == null ? 0 : heuristic.estimate(source, target));
+        int[] offsets = graph.offsets();
+        int[] targets = graph.targets();
+        while (!state.heap.isEmpty()) {
+            int vertex = state.heap.poll();
+            if (vertex == target) {
+                meeting = target;
+                return state.distances[target];
+            }
+            long distance = state.distances[vertex];
+            for (int arc = offsets[vertex], end = offsets[vertex + 1]; arc < end; arc++) {
+                int next = targets[arc];
+                long candidate = distance + graph.weight(arc);
+                if (candidate < state.distances[next]) {
+                    state.reach(next, candidate, vertex);
+                    long key = heuristic == null ? candidate : candidate + heuristic.estimate(next, target);
+                    state.heap.updateKey(next, key);
+                }
+            }
+        }
+        return UNREACHABLE;
+    }
+
+    /**
+     * Returns the length of the shortest path from the source to the target, UNREACHABLE if there is none.
+     */
+    long bidirectional(int source, int target) {
+        checkId(source);
+        checkId(target);
+        if (reverse == null) {
+            reverse = graph.reverse();
+            backward = new SearchState(graph.vertexCount());
+        }
+        startQuery(true);
+        forward.reach(source, 0, -1);
+        forward.heap.insert(source, 0);
+        backward.reach(target, 0, -1);
+        backward.heap.insert(target, 0);
+        long best = source == target ? 0 : INFINITY;
+        meeting = source == target ? source : -1;
+        while (!forward.heap.isEmpty() && !backward.heap.isEmpty()) {
+            // every path not found yet is at least as long as the sum of the two search radii
+            if (forward.heap.peekKey() + backward.heap.peekKey() >= best) {
+                break;
+            }
+            // the smaller frontier is expanded, which keeps the searches balanced
+            boolean forwardStep = forward.heap.size() <= backward.heap.size();
+            SearchState state = forwardStep ? forward : backward;
+            SearchState other = forwardStep ? backward : forward;
+            CsrGraph<?> side = forwardStep ? graph : reverse;
+            int[] offsets = side.offsets();
+            int[] targets = side.targets();
+            int vertex = state.heap.poll();
+            long distance = state.distances[vertex];
+            for (int arc = offsets[vertex], end = offsets[vertex + 1]; arc < end; arc++) {
+                int next = targets[arc];
+                long candidate = distance + side.weight(arc);
+                if (candidate < state.distances[next]) {
+                    state.reach(next, candidate, vertex);
+                    state.heap.updateKey(next, candidate);
+                }
+                if (other.distances[next] != INFINITY && candidate + other.distances[next] < best) {
+                    best = candidate + other.distances[next];
+                    meeting = next;
+                }
+            }
+        }
+        return best == INFINITY ? UNREACHABLE : best;
+    }
+
+    /**
+     * Returns vertex ids of the path found by the last query from the source to the target, empty if there was none.
+     */
+    int[] path() {
+        if (meeting < 0) {
+            return new int[0];
+        }
+        int length = 0;
+        for (int v = meeting; v != -1; v = forward.parents[v]) {
+            length++;
+        }
+        if (lastBidirectional) {
+            for (int v = backward.parents[meeting]; v != -1; v = backward.parents[v]) {
+                length++;
+            }
+        }
+        int[] path = new int[length];
+        int i = 0;
+        for (int v = meeting; v != -1; v = forward.parents[v]) {
+            path[i++] = v;
+        }
+        // the forward half was collected from the meeting vertex back to the source
+        for (int left = 0, right = i - 1; left < right; left++, right--) {
+            int swap = path[left];
+            path[left] = path[right];
+            path[right] = swap;
+        }
+        if (lastBidirectional) {
+            for (int v = backward.parents[meeting]; v != -1; v = backward.parents[v]) {
+                path[i++] = v;
+            }
+        }
+        return path;
+    }
+
+    private void startQuery(boolean bidirectional) {
+        forward.reset();
+        if (backward != null) {
+            backward.reset();
+        }
+        lastBidirectional = bidirectional;
+        meeting = -1;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= graph.vertexCount()) {
+            throw new IndexOutOfBoundsException("Vertex id " + id + " is out of range [0, " + graph.vertexCount() + ")");
+        }
+    }
+
+    private static String names(CsrGraph<?> graph, int[] path) {
+        StringBuilder names = new StringBuilder();
+        for (int id : path) {
+            names.append(names.length() == 0 ? "" : " -> ").append(graph.value(id));
+        }
+        return names.toString();
+    }
+
+    // distances, parents and the heap of one search direction
+    private static class SearchState {
+
+        final long[] distances;
+
+        final int[] parents;
+
+        final IndexedMinBinaryHeap heap;
+
+        // vertices whose distance was set by the current query, they are reset by the next one
+        final int[] touched;
+
+        int touchedCount;
+
+        SearchState(int n) {
+            distances = new long[n];
+            parents = new int[n];
+            heap = new IndexedMinBinaryHeap(n);
+            touched = new int[n];
+            Arrays.fill(distances, INFINITY);
+        }
+
+        void reach(int vertex, long distance, int parent) {
+            if (distances[vertex] == INFINITY) {
+                touched[touchedCount++] = vertex;
+            }
+            distances[vertex] = distance;
+            parents[vertex] = parent;
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                distances[touched[i]] = INFINITY;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention benchmark of LockFreeStack against ArrayDeque under a lock and ConcurrentLinkedDeque:
+ * every thread pushes and pops in turns for a fixed time. Single-threaded push/pop of the growable
+ * FixedSizeStack is compared with ArrayDeque and the primitive IntStack.
+ * <p>
+ * Run: java StackBenchmark [milliseconds per measurement]
+ */
+class StackBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    private static final int RUNS = 5;
+
+    private static final Integer ITEM = 42;
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 1000;
+        System.out.println("Push/pop operations per second");
+        System.out.printf("%-8s %20s %22s %15s%n", "threads", "locked ArrayDeque", "ConcurrentLinkedDeque", "LockFreeStack");
+        for (int threads : THREADS) {
+            System.out.printf("%-8d %,20d %,22d %,15d%n", threads,
+                    measure(new LockedArrayDeque(), threads, millis),
+                    measure(new ConcurrentDeque(), threads, millis),
+                    measure(new TreiberStack(), threads, millis));
+        }
+
+        int items = 10_000_000;
+        System.out.println("\nSingle thread: push and pop " + items + " items");
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            FixedSizeStack<Integer> stack = FixedSizeStack.growable(16);
+            for (int i = 0; i < items; i++) {
+                stack.push(ITEM);
+            }
+            while (!stack.isEmpty()) {
+                stack.pop();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("growable FixedSizeStack: %,d us%n", best / 1000);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            ArrayDeque<Integer> stack = new ArrayDeque<>(16);
+            for (int i = 0; i < items; i++) {
+                stack.push(ITEM);
+            }
+            while (!stack.isEmpty()) {
+                stack.pop();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("ArrayDeque: %,d us%n", best / 1000);
+
+        best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            IntStack stack = IntStack.growable(16);
+            for (int i = 0; i < items; i++) {
+                stack.push(i);
+            }
+            while (!stack.isEmpty()) {
+                stack.pop();
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("growable IntStack: %,d us%n", best / 1000);
+    }
+
+    private static long measure(Stack stack, int threads, long millis) throws InterruptedException {
+        LongAdder operations = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch started = new CountDownLatch(threads);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                long done = 0;
+                started.countDown();
+                while (running.get()) {
+                    stack.push(ITEM);
+                    stack.pop();
+                    done += 2;
+                }
+                operations.add(done);
+            });
+            workers[t].start();
+        }
+        started.await();
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return operations.sum() * 1000 / millis;
+    }
+
+    interface Stack {
+
+        void push(Integer item);
+
+        Integer pop();
+    }
+
+    static class LockedArrayDeque implements Stack {
+
+        private final ArrayDeque<Integer> deque = new ArrayDeque<>();
+
+        @Override
+        public synchronized void push(Integer item) {
+            deque.push(item);
+        }
+
+        @Override
+        public synchronized Integer pop() {
+            return deque.pollFirst();
+        }
+    }
+
+    static class ConcurrentDeque implements Stack {
+
+        private final ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+
+        @Override
+        public void push(Integer item) {
+            deque.push(item);
+        }
+
+        @Override
+        public Integer pop() {
+            return deque.pollFirst();
+        }
+    }
+
+    static class TreiberStack implements Stack {
+
+        private final LockFreeStack<Integer> stack = new LockFreeStack<>();
+
+        @Override
+        public void push(Integer item) {
+            stack.push(item);
+        }
+
+        @Override
+        public Integer pop() {
+            return stack.pop();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+import java.util.Arrays;
+
+/**
+ * Union-find (disjoint set forest) over elements 0..size-1: every set is a tree whose root represents it.
+ * <p>
+ * - find() walks up to the root and halves the path on the way (every node skips to its grandparent),
+ *   so the trees flatten as they are used
+ * - union() hangs the root of the lower tree under the root of the higher one, so trees stay O(log n) high
+ * Together they make both operations take O(alpha(n)) amortized time, where alpha is the inverse Ackermann
+ * function, below 5 for any real n.
+ * <p>
+ * Elements are added one by one, arrays grow as needed.
+ *
+ *     parent:  0  0  0  3  3        sets {0, 1, 2} and {3, 4}
+ *
+ *        0      3
+ *       / \     |
+ *      1   2    4
+ */
+class UnionFind {
+
+    public static void main(String[] args) {
+        UnionFind sets = new UnionFind(4);
+        for (int i = 0; i < 6; i++) {
+            sets.add();
+        }
+        sets.union(0, 1);
+        sets.union(1, 2);
+        sets.union(3, 4);
+        //true
+        System.out.println("0 and 2 are connected: " + sets.connected(0, 2));
+        //false
+        System.out.println("2 and 3 are connected: " + sets.connected(2, 3));
+        //3
+        System.out.println("Sets: " + sets.count());
+    }
+
+    private int[] parent;
+
+    // upper bound of the tree height, meaningful for roots only
+    private byte[] rank;
+
+    private int size;
+
+    private int count;
+
+    UnionFind(int initialCapacity) {
+        parent = new int[Math.max(initialCapacity, 1)];
+        rank = new byte[parent.length];
+    }
+
+    UnionFind() {
+        this(16);
+    }
+
+    /**
+     * Adds an element in a set of its own, returns the element.
+     */
+    int add() {
+        if (size == parent.length) {
+            parent = Arrays.copyOf(parent, size * 2);
+            rank = Arrays.copyOf(rank, size * 2);
+        }
+        parent[size] = size;
+        count++;
+        return size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of disjoint sets.
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns the root of the set of the element.
+     */
+    int find(int element) {
+        checkElement(element);
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets of the elements, returns false if they are in the same set already.
+     */
+    boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else {
+            parent[rootB] = rootA;
+            if (rank[rootA] == rank[rootB]) {
+                rank[rootA]++;
+            }
+        }
+        count--;
+        return true;
+    }
+
+    boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= size) {
+            throw new IndexOutOfBoundsException("Element " + element + " is out of range [0, " + size + ")");
+        }
+    }
+}
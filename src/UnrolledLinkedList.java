@@ -0,0 +1,182 @@
+import java.util.function.Consumer;
+
+/**
+ * Unrolled linked list is a linked list where every node holds a small array of elements instead of a single one.
+ * <p>
+ * A node of LinkedList costs an object header and a pointer hop per element, and the nodes lie wherever
+ * the allocator put them, so iteration is one likely cache miss per element. Here one hop brings a whole block:
+ * with 32 elements per node there are 32 times fewer nodes to chase, and the references inside a block
+ * are consecutive in memory.
+ * <p>
+ * - add() appends to the tail node, a new node is created when it is full: amortized O(1)
+ * - delete() finds the element, closes the gap inside its node and keeps nodes at least half full
+ *   by borrowing elements from the next node or merging with it: O(n / capacity + capacity)
+ * <p>
+ * Example with 4 elements per node:
+ *
+ *   head                                tail
+ *    |                                    |
+ *  [ a  b  c  d ] --> [ e  f  _  _ ] --> [ g  _  _  _ ] --> NULL
+ */
+class UnrolledLinkedList<T> {
+
+    public static void main(String[] args) {
+        UnrolledLinkedList<String> list = new UnrolledLinkedList<>(4);
+        for (String word : "Minsk is not the capital of Belarus".split(" ")) {
+            list.add(word);
+        }
+        list.print();
+        //2
+        System.out.println("\nNodes: " + list.nodeCount());
+        // the first node falls below half full and takes in the second one
+        list.delete("not");
+        list.delete("is");
+        list.delete("the");
+        list.print();
+        //4 elements in 1 node
+        System.out.println("\nSize: " + list.size() + ", nodes: " + list.nodeCount());
+    }
+
+    static final int DEFAULT_NODE_CAPACITY = 32;
+
+    private final int nodeCapacity;
+
+    private Node head;
+
+    private Node tail;
+
+    private int size;
+
+    private int nodeCount;
+
+    UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 2) {
+            throw new IllegalArgumentException("Node capacity must be at least 2, but was " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int nodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Appends the data to the end of the list.
+     */
+    void add(T data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Inserted data can not be null");
+        }
+        if (tail == null || tail.count == nodeCapacity) {
+            Node node = new Node(nodeCapacity);
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            nodeCount++;
+        }
+        tail.elements[tail.count++] = data;
+        size++;
+    }
+
+    /**
+     * Deletes the first element equal to the data, returns false if there is no such element.
+     */
+    boolean delete(T data) {
+        Node previous = null, node = head;
+        while (node != null) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.elements[i].equals(data)) {
+                    removeAt(previous, node, i);
+                    return true;
+                }
+            }
+            previous = node;
+            node = node.next;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                action.accept((T) node.elements[i]);
+            }
+        }
+    }
+
+    void print() {
+        forEach(data -> System.out.print(data + " "));
+    }
+
+    private void removeAt(Node previous, Node node, int index) {
+        System.arraycopy(node.elements, index + 1, node.elements, index, node.count - index - 1);
+        node.elements[--node.count] = null;
+        size--;
+        if (node.count == 0) {
+            // only the last node can become empty: the others are kept at least half full
+            unlink(previous, node);
+            return;
+        }
+        Node next = node.next;
+        if (node.count >= nodeCapacity / 2 || next == null) {
+            return;
+        }
+        if (node.count + next.count <= nodeCapacity) {
+            System.arraycopy(next.elements, 0, node.elements, node.count, next.count);
+            node.count += next.count;
+            unlink(node, next);
+        } else {
+            // both nodes end up at least half full
+            int moved = (next.count - node.count) / 2;
+            System.arraycopy(next.elements, 0, node.elements, node.count, moved);
+            node.count += moved;
+            System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+            for (int i = next.count - moved; i < next.count; i++) {
+                next.elements[i] = null;
+            }
+            next.count -= moved;
+        }
+    }
+
+    // removes the node, previous is the node before it or null if it is the head
+    private void unlink(Node previous, Node node) {
+        if (previous == null) {
+            head = node.next;
+        } else {
+            previous.next = node.next;
+        }
+        if (tail == node) {
+            tail = previous;
+        }
+        nodeCount--;
+    }
+
+    static class Node {
+
+        private final Object[] elements;
+
+        private int count;
+
+        private Node next;
+
+        Node(int capacity) {
+            elements = new Object[capacity];
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/**
+ * Memory footprint and iteration time of UnrolledLinkedList with different node sizes against the singly linked
+ * LinkedList. The elements are the same Integer objects for every list, so the footprint is that of the list itself.
+ * <p>
+ * Run: java -Xmx4g UnrolledLinkedListBenchmark [elements]
+ */
+class UnrolledLinkedListBenchmark {
+
+    private static final int RUNS = 5;
+
+    // keeps the sum alive so that iteration is not optimized away
+    private static long checksum;
+
+    public static void main(String[] args) {
+        int elements = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        Integer[] values = new Integer[elements];
+        for (int i = 0; i < elements; i++) {
+            values[i] = i;
+        }
+        System.out.println("Build and iterate over " + elements + " elements");
+
+        long before = BinarySearchTreeBenchmark.usedMemory();
+        LinkedList<Integer> list = new LinkedList<>();
+        for (Integer value : values) {
+            list.add(value);
+        }
+        long memory = BinarySearchTreeBenchmark.usedMemory() - before;
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            long[] sum = {0};
+            list.forEach(value -> sum[0] += value);
+            best = Math.min(best, System.nanoTime() - start);
+            checksum += sum[0];
+        }
+        report("LinkedList", memory, elements, best);
+        list = null;
+
+        for (int nodeCapacity : new int[]{16, 32, 64}) {
+            before = BinarySearchTreeBenchmark.usedMemory();
+            UnrolledLinkedList<Integer> unrolled = new UnrolledLinkedList<>(nodeCapacity);
+            for (Integer value : values) {
+                unrolled.add(value);
+            }
+            memory = BinarySearchTreeBenchmark.usedMemory() - before;
+            best = Long.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                long[] sum = {0};
+                unrolled.forEach(value -> sum[0] += value);
+                best = Math.min(best, System.nanoTime() - start);
+                checksum += sum[0];
+            }
+            report("UnrolledLinkedList(" + nodeCapacity + ")", memory, elements, best);
+        }
+        System.out.println("(checksum " + checksum + ")");
+    }
+
+    private static void report(String name, long memory, int elements, long nanos) {
+        System.out.printf("%-24s memory: %,6d KB (%5.1f bytes per element), iteration: %,8d us%n",
+                name, memory / 1024, (double) memory / elements, nanos / 1000);
+    }
+}